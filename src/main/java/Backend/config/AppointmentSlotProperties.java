@@ -0,0 +1,52 @@
+package Backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opening hours, slot grid, number of service bays and per-service durations
+ * used to schedule appointments.
+ */
+@Component
+@ConfigurationProperties(prefix = "appointments.slots")
+@Data
+public class AppointmentSlotProperties {
+
+    private LocalTime openingTime = LocalTime.of(8, 0);
+
+    private LocalTime closingTime = LocalTime.of(18, 0);
+
+    private int lengthMinutes = 30;
+
+    // Appointments that can run in parallel in one slot
+    private int bays = 1;
+
+    // Duration in minutes by service name, e.g. appointments.slots.service-minutes.full-service=120
+    private Map<String, Integer> serviceMinutes = new HashMap<>();
+
+    /**
+     * Booking length for a service: the configured duration, or one slot.
+     * Names match ignoring case, spaces and dashes, so "Full Service" uses full-service.
+     */
+    public int durationFor(String service) {
+        if (service != null) {
+            String wanted = normalize(service);
+            for (Map.Entry<String, Integer> entry : serviceMinutes.entrySet()) {
+                if (normalize(entry.getKey()).equals(wanted)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return lengthMinutes;
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+package Backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enable scheduled jobs such as dashboard metrics reconciliation
+}
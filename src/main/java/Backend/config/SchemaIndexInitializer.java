@@ -0,0 +1,126 @@
+package Backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Creates PostgreSQL indexes and constraints that JPA annotations cannot express.
+ * Runs after Hibernate has updated the schema and before the application serves requests.
+ * A failure to create the booking index or constraint stops startup; the search indexes are optional.
+ * Other databases (H2 in tests) are skipped.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexInitializer {
+
+    /** At most one non-rejected appointment per date, start time and bay */
+    public static final String ACTIVE_BAY_SLOT_INDEX = "uk_appointments_active_bay_slot";
+
+    /** Non-rejected appointments in the same bay must not overlap in time */
+    public static final String BAY_OVERLAP_CONSTRAINT = "ex_appointments_bay_overlap";
+
+    /** Trigram indexes for the prefix search of the user directory, one per searched column */
+    public static final String USER_FULL_NAME_TRGM_INDEX = "idx_users_full_name_trgm";
+    public static final String USER_EMAIL_TRGM_INDEX = "idx_users_email_trgm";
+    public static final String USER_PHONE_TRGM_INDEX = "idx_users_phone_trgm";
+
+    /** Trigram index for substring search over normalized plate numbers */
+    public static final String VEHICLE_PLATE_TRGM_INDEX = "idx_vehicles_plate_number_trgm";
+
+    /** Replaced by ACTIVE_BAY_SLOT_INDEX once bays were introduced */
+    private static final String LEGACY_ACTIVE_SLOT_INDEX = "uk_appointments_active_slot";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final AppointmentSlotProperties slotProperties;
+
+    @PostConstruct
+    public void createIndexes() {
+        if (!isPostgreSql()) {
+            log.info("Skipping PostgreSQL-specific indexes and constraints for this database");
+            return;
+        }
+        apply(LEGACY_ACTIVE_SLOT_INDEX, "DROP INDEX IF EXISTS " + LEGACY_ACTIVE_SLOT_INDEX);
+        require(ACTIVE_BAY_SLOT_INDEX,
+                "CREATE UNIQUE INDEX IF NOT EXISTS " + ACTIVE_BAY_SLOT_INDEX
+                        + " ON appointments (date, time, bay) WHERE status <> 'REJECT'");
+        createBayOverlapConstraint();
+        apply("pg_trgm", "CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        createUserSearchIndexes();
+        createTrigramIndex(VEHICLE_PLATE_TRGM_INDEX, "vehicles", "plate_number");
+    }
+
+    /**
+     * GIN trigram indexes over the expressions UserRepository.searchDirectoryPage filters on,
+     * so case-insensitive prefix matches on any of the three columns avoid a scan of the users table.
+     */
+    private void createUserSearchIndexes() {
+        createTrigramIndex(USER_FULL_NAME_TRGM_INDEX, "users", "lower(full_name)");
+        createTrigramIndex(USER_EMAIL_TRGM_INDEX, "users", "lower(email)");
+        createTrigramIndex(USER_PHONE_TRGM_INDEX, "users", "phone");
+    }
+
+    /**
+     * Exclusion constraint over each booking's minute range within its bay.
+     * Needs the btree_gist extension; startup fails if either cannot be created, since
+     * overlapping bookings from other nodes would otherwise go unnoticed.
+     */
+    private void createBayOverlapConstraint() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, BAY_OVERLAP_CONSTRAINT);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        String startMinute = "(EXTRACT(EPOCH FROM time) / 60)::int";
+        require(BAY_OVERLAP_CONSTRAINT, "CREATE EXTENSION IF NOT EXISTS btree_gist");
+        require(BAY_OVERLAP_CONSTRAINT,
+                "ALTER TABLE appointments ADD CONSTRAINT " + BAY_OVERLAP_CONSTRAINT
+                        + " EXCLUDE USING gist (date WITH =, bay WITH =, int4range(" + startMinute + ", "
+                        + startMinute + " + COALESCE(duration_minutes, " + slotProperties.getLengthMinutes()
+                        + ")) WITH &&) WHERE (status <> 'REJECT')");
+    }
+
+    private void createTrigramIndex(String name, String table, String expression) {
+        apply(name, "CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " USING gin (" + expression + " gin_trgm_ops)");
+    }
+
+    /**
+     * Apply DDL that the booking guarantees rely on; without it the application does not start
+     */
+    private void require(String name, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to apply " + name
+                    + " (existing rows may violate it and must be fixed first): " + e.getMessage(), e);
+        }
+    }
+
+    private void apply(String name, String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+        } catch (Exception e) {
+            // Not needed for correctness; the application still starts
+            log.error("Failed to apply {}: {}", name, e.getMessage());
+        }
+    }
+
+    private boolean isPostgreSql() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.error("Could not determine database type: {}", e.getMessage());
+            return false;
+        }
+    }
+}
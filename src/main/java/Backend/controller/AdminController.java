@@ -1,15 +1,16 @@
 package Backend.controller;
 
 import Backend.dto.Response.AdminDashboardStatsResponse;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
-@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+@RequiresPermission(Permission.VIEW_ADMIN_DASHBOARD)
 public class AdminController {
     
 
@@ -8,9 +8,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,12 +22,22 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import Backend.dto.Request.BatchStatusChangeRequest;
 import Backend.dto.Request.CreateAppointmentRequest;
 import Backend.dto.Request.UpdateAppointmentRequest;
 import Backend.dto.Response.AppointmentResponse;
+import Backend.dto.Response.BatchStatusChangeResponse;
+import Backend.dto.Response.DayAvailability;
 import Backend.entity.Appointment;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
+import Backend.service.AppointmentExportService;
+import Backend.service.AppointmentExportService.ExportFormat;
 import Backend.service.AppointmentService;
+import Backend.service.SlotAvailabilityIndex;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -35,7 +46,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AppointmentController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+
     private final AppointmentService appointmentService;
+    private final AppointmentExportService appointmentExportService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
 
     /**
      * Create a new appointment
@@ -45,6 +60,10 @@ public class AppointmentController {
         try {
             AppointmentResponse response = appointmentService.createAppointment(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity
+                    .status(e.getStatusCode())
+                    .body(new ErrorResponse(e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
@@ -54,14 +73,27 @@ public class AppointmentController {
 
     /**
      * Get all appointments (Admin/Employee only)
+     * Sending cursor or limit switches to keyset pagination over (date, time, id)
      */
     @GetMapping
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
-    public ResponseEntity<Page<AppointmentResponse>> getAllAppointments(
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> getAllAppointments(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        if (isKeysetRequest(cursor, limit)) {
+            try {
+                return ResponseEntity.ok(appointmentService.getAppointmentsPage(cursor, pageLimit(limit)));
+            } catch (RuntimeException e) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse(e.getMessage()));
+            }
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
@@ -90,7 +122,19 @@ public class AppointmentController {
      * Get current user's appointments
      */
     @GetMapping("/my")
-    public ResponseEntity<List<AppointmentResponse>> getMyAppointments() {
+    public ResponseEntity<?> getMyAppointments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (isKeysetRequest(cursor, limit)) {
+            try {
+                return ResponseEntity.ok(appointmentService.getMyAppointmentsPage(cursor, pageLimit(limit)));
+            } catch (RuntimeException e) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse(e.getMessage()));
+            }
+        }
+
         List<AppointmentResponse> appointments = appointmentService.getMyAppointments();
         return ResponseEntity.ok(appointments);
     }
@@ -99,25 +143,39 @@ public class AppointmentController {
      * Get appointments by status (Admin/Employee only)
      */
     @GetMapping("/status/{status}")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
-    public ResponseEntity<?> getAppointmentsByStatus(@PathVariable String status) {
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> getAppointmentsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Appointment.AppointmentStatus appointmentStatus;
         try {
-            Appointment.AppointmentStatus appointmentStatus = Appointment.AppointmentStatus
-                    .valueOf(status.toUpperCase());
-            List<AppointmentResponse> appointments = appointmentService.getAppointmentsByStatus(appointmentStatus);
-            return ResponseEntity.ok(appointments);
+            appointmentStatus = Appointment.AppointmentStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Invalid status: " + status));
         }
+
+        try {
+            if (isKeysetRequest(cursor, limit)) {
+                return ResponseEntity.ok(appointmentService.getAppointmentsByStatusPage(
+                        appointmentStatus, cursor, pageLimit(limit)));
+            }
+            List<AppointmentResponse> appointments = appointmentService.getAppointmentsByStatus(appointmentStatus);
+            return ResponseEntity.ok(appointments);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
     }
 
     /**
      * Get today's appointments (Admin/Employee only)
      */
     @GetMapping("/today")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
     public ResponseEntity<List<AppointmentResponse>> getTodaysAppointments() {
         List<AppointmentResponse> appointments = appointmentService.getTodaysAppointments();
         return ResponseEntity.ok(appointments);
@@ -127,15 +185,79 @@ public class AppointmentController {
      * Get appointments by date range (Admin/Employee only)
      */
     @GetMapping("/date-range")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
-    public ResponseEntity<List<AppointmentResponse>> getAppointmentsByDateRange(
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> getAppointmentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        if (isKeysetRequest(cursor, limit)) {
+            try {
+                return ResponseEntity.ok(appointmentService.getAppointmentsByDateRangePage(
+                        startDate, endDate, cursor, pageLimit(limit)));
+            } catch (RuntimeException e) {
+                return ResponseEntity
+                        .status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse(e.getMessage()));
+            }
+        }
 
         List<AppointmentResponse> appointments = appointmentService.getAppointmentsByDateRange(startDate, endDate);
         return ResponseEntity.ok(appointments);
     }
 
+    /**
+     * Get start times per day at which a service still fits in a free bay (at most 62 days)
+     * Answered from the in-memory slot index without querying appointments
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String service) {
+        try {
+            List<DayAvailability> availability = slotAvailabilityIndex.getAvailability(from, to, service);
+            return ResponseEntity.ok(availability);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Stream appointments in a date range as NDJSON or CSV (Admin/Employee only)
+     * Rows are written as they are read, so large ranges do not build up in memory
+     */
+    @GetMapping("/export")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        if (endDate.isBefore(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endDate must not be before startDate");
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid format: " + format);
+        }
+
+        String filename = "appointments-" + startDate + "-" + endDate + "." + exportFormat.getExtension();
+        StreamingResponseBody body = outputStream ->
+                appointmentExportService.exportByDateRange(startDate, endDate, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     /**
      * Update appointment
      */
@@ -144,6 +266,10 @@ public class AppointmentController {
         try {
             AppointmentResponse response = appointmentService.updateAppointment(id, request);
             return ResponseEntity.ok(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity
+                    .status(e.getStatusCode())
+                    .body(new ErrorResponse(e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
@@ -187,11 +313,30 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Auto-allocate all APPROVE appointments of a day (Super Admin only)
+     * Each goes to the enabled employee with the fewest IN_PROGRESS tasks
+     *
+     * POST /api/appointments/allocate/auto?date=2025-11-10
+     */
+    @PostMapping("/allocate/auto")
+    public ResponseEntity<?> autoAllocateAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            List<AppointmentResponse> allocated = appointmentService.autoAllocate(date);
+            return ResponseEntity.ok(allocated);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Assign employee to appointment (Admin/Employee only)
      */
     @PatchMapping("/{appointmentId}/assign/{employeeId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
     public ResponseEntity<?> assignEmployee(@PathVariable Long appointmentId, @PathVariable Long employeeId) {
         try {
             AppointmentResponse response = appointmentService.assignEmployee(appointmentId, employeeId);
@@ -207,7 +352,7 @@ public class AppointmentController {
      * Delete appointment (Admin only)
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN')")
+    @RequiresPermission(Permission.DELETE_APPOINTMENTS)
     public ResponseEntity<?> deleteAppointment(@PathVariable Long id) {
         try {
             appointmentService.deleteAppointment(id);
@@ -224,7 +369,7 @@ public class AppointmentController {
      * Available statuses: PENDING, APPROVE, ACCEPT, CONFIRMED, IN_PROGRESS, ONGOING, REJECT, COMPLETED
      */
     @PatchMapping("/{id}/status")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
     public ResponseEntity<?> changeAppointmentStatus(
             @PathVariable Long id,
             @Valid @RequestBody Backend.dto.Request.ChangeStatusRequest request) {
@@ -235,6 +380,37 @@ public class AppointmentController {
                 request.getNotes()
             );
             return ResponseEntity.ok(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity
+                    .status(e.getStatusCode())
+                    .body(new ErrorResponse(e.getReason()));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Change the status of many appointments at once with email notifications
+     * Returns one result per ID; IDs that cannot be changed are reported, not fatal
+     *
+     * Request body: { "ids": [1, 2, 3], "status": "COMPLETED", "notes": "optional" }
+     */
+    @PatchMapping("/status:batch")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> changeAppointmentStatuses(@Valid @RequestBody BatchStatusChangeRequest request) {
+        try {
+            BatchStatusChangeResponse response = appointmentService.changeAppointmentStatuses(
+                request.getIds(),
+                request.getStatus(),
+                request.getNotes()
+            );
+            return ResponseEntity.ok(response);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity
+                    .status(e.getStatusCode())
+                    .body(new ErrorResponse(e.getReason()));
         } catch (RuntimeException e) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
@@ -247,9 +423,16 @@ public class AppointmentController {
      * Returns all appointments assigned to a specific employee
      */
     @GetMapping("/employee/{employeeId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
-    public ResponseEntity<?> getAppointmentsByEmployee(@PathVariable Long employeeId) {
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> getAppointmentsByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isKeysetRequest(cursor, limit)) {
+                return ResponseEntity.ok(appointmentService.getAppointmentsByEmployeePage(
+                        employeeId, cursor, pageLimit(limit)));
+            }
             List<AppointmentResponse> appointments = appointmentService.getAppointmentsByEmployee(employeeId);
             return ResponseEntity.ok(appointments);
         } catch (RuntimeException e) {
@@ -264,9 +447,16 @@ public class AppointmentController {
      * Returns all appointments for a specific customer
      */
     @GetMapping("/customer/{customerId}")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
-    public ResponseEntity<?> getAppointmentsByCustomer(@PathVariable Long customerId) {
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> getAppointmentsByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
+            if (isKeysetRequest(cursor, limit)) {
+                return ResponseEntity.ok(appointmentService.getAppointmentsByCustomerPage(
+                        customerId, cursor, pageLimit(limit)));
+            }
             List<AppointmentResponse> appointments = appointmentService.getAppointmentsByCustomer(customerId);
             return ResponseEntity.ok(appointments);
         } catch (RuntimeException e) {
@@ -276,6 +466,18 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Listings return a CursorPage when the client sends a cursor or a limit,
+     * and the plain list (or offset page) otherwise
+     */
+    private static boolean isKeysetRequest(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    private static int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_LIMIT;
+    }
+
     // Response classes
     record ErrorResponse(String message) {}
     record SuccessResponse(String message) {}
@@ -1,20 +1,30 @@
 package Backend.controller;
 
 import Backend.dto.Response.AdminDashboardStatsResponse;
+import Backend.dto.Response.MonthlyServiceTrend;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
 import Backend.service.DashboardService;
+import Backend.service.DashboardSnapshotCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
 
     /**
      * Get comprehensive dashboard statistics
@@ -25,11 +35,33 @@ public class DashboardController {
      * - Monthly trend (last 12 months)
      * - Employee workload (top 4 employees)
      * - Upcoming appointments (next 5)
+     * Served from a cached snapshot that is refreshed in the background after appointment changes
      */
     @GetMapping("/stats")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
+    @RequiresPermission(Permission.VIEW_DASHBOARD)
     public ResponseEntity<AdminDashboardStatsResponse> getDashboardStats() {
-        AdminDashboardStatsResponse stats = dashboardService.getDashboardStats();
+        AdminDashboardStatsResponse stats = dashboardSnapshotCache.get();
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Get monthly appointment counts for a custom date range
+     * Served from the daily rollup table, so multi-year ranges stay cheap
+     */
+    @GetMapping("/trend")
+    @RequiresPermission(Permission.VIEW_DASHBOARD)
+    public ResponseEntity<?> getMonthlyTrend(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            List<MonthlyServiceTrend> trend = dashboardService.getMonthlyTrend(startDate, endDate);
+            return ResponseEntity.ok(trend);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    record ErrorResponse(String message) {}
 }
\ No newline at end of file
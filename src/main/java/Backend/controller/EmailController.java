@@ -1,12 +1,13 @@
 package Backend.controller;
 
 import Backend.dto.Request.SendEmailRequest;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
 import Backend.service.EmailService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -21,7 +22,7 @@ public class EmailController {
      * Allows admin/employee to send custom messages to customers
      */
     @PostMapping("/send")
-    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('ADMIN') or hasRole('EMPLOYEE')")
+    @RequiresPermission(Permission.SEND_EMAILS)
     public ResponseEntity<?> sendEmail(@Valid @RequestBody SendEmailRequest request) {
         try {
             emailService.sendCustomEmail(request.getEmail(), request.getMessage());
@@ -2,18 +2,19 @@ package Backend.controller;
 
 import Backend.dto.UpdateProgressRequest;
 import Backend.entity.Appointment;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
 import Backend.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employee/appointments")
-@PreAuthorize("hasRole('EMPLOYEE')")
+@RequiresPermission(Permission.WORK_ON_TASKS)
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeController {
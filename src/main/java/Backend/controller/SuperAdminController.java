@@ -1,8 +1,11 @@
 package Backend.controller;
 
 import Backend.dto.Request.CreateUserRequest;
+import Backend.dto.Response.CursorPage;
 import Backend.dto.Response.UserResponse;
 import Backend.entity.Role.RoleName;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
 import Backend.service.SuperAdminService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +16,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -22,11 +24,13 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/super-admin/users")
-@PreAuthorize("hasRole('SUPER_ADMIN')")
+@RequiresPermission(Permission.MANAGE_USERS)
 @RequiredArgsConstructor
 @Slf4j
 public class SuperAdminController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+
     private final SuperAdminService superAdminService;
 
     @PostMapping
@@ -67,12 +71,37 @@ public class SuperAdminController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Sending q, cursor or limit switches to keyset pagination over id, with q as a name, email or phone prefix
+     */
     @GetMapping("/role/{roleName}")
-    public ResponseEntity<Map<String, Object>> getUsersByRole(@PathVariable RoleName roleName) {
+    public ResponseEntity<Map<String, Object>> getUsersByRole(
+            @PathVariable RoleName roleName,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        if (q != null || cursor != null || limit != null) {
+            try {
+                CursorPage<UserResponse> page = superAdminService.getUsersByRolePage(roleName, q, cursor,
+                        limit != null ? limit : DEFAULT_PAGE_LIMIT);
+                response.put("success", true);
+                response.put("data", page.items());
+                response.put("count", page.items().size());
+                response.put("nextCursor", page.nextCursor());
+                response.put("hasMore", page.hasMore());
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                response.put("success", false);
+                response.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
         
         List<UserResponse> users = superAdminService.getUsersByRole(roleName);
         
-        Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("data", users);
         response.put("count", users.size());
@@ -4,12 +4,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import Backend.entity.Role;
 import Backend.entity.User;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
+import Backend.service.EmployeeWorkloadService;
 import Backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 
@@ -18,7 +24,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+
     private final UserService userService;
+    private final EmployeeWorkloadService employeeWorkloadService;
 
     /**
      * Get all employees with task statistics
@@ -27,13 +36,15 @@ public class UserController {
      */
     @GetMapping("/employees")
     public ResponseEntity<List<EmployeeResponse>> getEmployees() {
-        List<User> employees = userService.findByRoleName("EMPLOYEE");
+        // Two queries in total: enabled employees, then task counts for all of them grouped by status
+        List<User> employees = userService.findEnabledEmployees();
+        Map<Long, Map<String, Long>> allTaskStats = employeeWorkloadService.getTaskStats();
         
         // Map to response DTO (exclude sensitive data, include task stats)
         List<EmployeeResponse> response = employees.stream()
-                .filter(User::isEnabled) // Only return enabled employees
                 .map(user -> {
-                    Map<String, Long> taskStats = userService.getEmployeeTaskStats(user);
+                    Map<String, Long> taskStats = allTaskStats.getOrDefault(
+                            user.getId(), employeeWorkloadService.emptyTaskStats());
                     return new EmployeeResponse(
                         user.getId(),
                         user.getFullName(),
@@ -53,27 +64,63 @@ public class UserController {
      * Get all customers
      * PUBLIC - No authentication required (for testing)
      * Used for: Creating appointments, viewing customer list
+     * Sending cursor or limit switches to keyset pagination over id
      */
     @GetMapping("/customers")
-    public ResponseEntity<List<UserResponse>> getCustomers() {
-        List<User> customers = userService.findByRoleName("CUSTOMER");
+    public ResponseEntity<?> getCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        if (cursor != null || limit != null) {
+            return directoryPage(null, cursor, limit);
+        }
+
+        List<User> customers = userService.findByRole(Role.RoleName.CUSTOMER);
         
         // Map to response DTO (exclude sensitive data)
         List<UserResponse> response = customers.stream()
                 .filter(User::isEnabled) // Only return enabled customers
-                .map(user -> new UserResponse(
-                    user.getId(),
-                    user.getFullName(),
-                    user.getEmail(),
-                    user.getPhone(),
-                    user.getRole().getName().name(),
-                    user.isEnabled()
-                ))
+                .map(UserController::toUserResponse)
                 .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Search customers by name, email or phone prefix, one keyset page at a time
+     * STAFF ONLY - prefix probing would otherwise reveal who has an account
+     */
+    @GetMapping(value = "/customers", params = "q")
+    @RequiresPermission(Permission.MANAGE_APPOINTMENTS)
+    public ResponseEntity<?> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return directoryPage(q, cursor, limit);
+    }
+
+    private ResponseEntity<?> directoryPage(String q, String cursor, Integer limit) {
+        try {
+            return ResponseEntity.ok(userService.getDirectoryPage(Role.RoleName.CUSTOMER, true, q, cursor,
+                    limit != null ? limit : DEFAULT_PAGE_LIMIT, UserController::toUserResponse));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    private static UserResponse toUserResponse(User user) {
+        return new UserResponse(
+            user.getId(),
+            user.getFullName(),
+            user.getEmail(),
+            user.getPhone(),
+            user.getRole().getName().name(),
+            user.isEnabled()
+        );
+    }
+
     /**
      * Response DTO for employee information with task statistics
      */
@@ -99,4 +146,6 @@ public class UserController {
         String role, 
         boolean enabled
     ) {}
-}
\ No newline at end of file
+
+    record ErrorResponse(String message) {}
+}
@@ -0,0 +1,64 @@
+package Backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import Backend.dto.Response.AppointmentResponse;
+import Backend.dto.Response.VehicleResponse;
+import Backend.security.Permission;
+import Backend.security.RequiresPermission;
+import Backend.service.VehicleService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/vehicles")
+@RequiresPermission(Permission.SEARCH_VEHICLES)
+@RequiredArgsConstructor
+public class VehicleController {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private final VehicleService vehicleService;
+
+    /**
+     * Search vehicles by any part of the plate number
+     * Case, spaces and punctuation are ignored: "ab 12" finds "AB-1234"
+     */
+    @GetMapping
+    public ResponseEntity<?> searchVehicles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        try {
+            List<VehicleResponse> vehicles = vehicleService.search(q, limit);
+            return ResponseEntity.ok(vehicles);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Service history of a vehicle, newest appointment first
+     */
+    @GetMapping("/{vehicleNumber}/history")
+    public ResponseEntity<?> getServiceHistory(@PathVariable String vehicleNumber) {
+        try {
+            List<AppointmentResponse> history = vehicleService.getServiceHistory(vehicleNumber);
+            return ResponseEntity.ok(history);
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    record ErrorResponse(String message) {}
+}
@@ -0,0 +1,52 @@
+package Backend.dto;
+
+import Backend.dto.Response.AppointmentResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Position in the (date, time, id) ordering of appointments.
+ * Handed to clients as an opaque URL-safe token; the next page starts strictly after it.
+ */
+public record AppointmentCursor(LocalDate date, LocalTime time, Long id) {
+
+    /** Sorts before every appointment */
+    public static final AppointmentCursor START = new AppointmentCursor(LocalDate.of(1, 1, 1), LocalTime.MIN, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Cursor just before the first appointment on the given date
+     */
+    public static AppointmentCursor startOf(LocalDate date) {
+        return new AppointmentCursor(date, LocalTime.MIN, 0L);
+    }
+
+    public static AppointmentCursor after(AppointmentResponse appointment) {
+        return new AppointmentCursor(appointment.getDate(), appointment.getTime(), appointment.getId());
+    }
+
+    /**
+     * Decode a token, falling back to the given cursor when no token was sent
+     */
+    public static AppointmentCursor decodeOrDefault(String token, AppointmentCursor defaultCursor) {
+        if (token == null || token.isBlank()) {
+            return defaultCursor;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            return new AppointmentCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,26 @@
+package Backend.dto.Request;
+
+import java.util.List;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * DTO for changing the status of many appointments at once
+ * Endpoint: PATCH /api/appointments/status:batch
+ */
+@Data
+public class BatchStatusChangeRequest {
+
+    @NotEmpty(message = "At least one appointment ID is required")
+    @Size(max = 500, message = "At most 500 appointments can be changed at once")
+    private List<@NotNull Long> ids;
+
+    @NotNull(message = "Status is required")
+    private AppointmentStatus status;
+
+    private String notes; // Optional notes, sent with every notification
+}
@@ -0,0 +1,7 @@
+package Backend.dto.Request;
+
+public record RefreshTokenRequest(
+
+    String refreshToken
+
+) {}
@@ -13,4 +13,13 @@ public record AdminDashboardStatsResponse(
     List<MonthlyServiceTrend> monthlyTrend,
     List<EmployeeWorkload> employeeWorkload,
     List<UpcomingAppointment> upcomingAppointments
-) {}
+) {
+
+    // Defensive copies keep cached snapshots immutable
+    public AdminDashboardStatsResponse {
+        servicesByStatus = List.copyOf(servicesByStatus);
+        monthlyTrend = List.copyOf(monthlyTrend);
+        employeeWorkload = List.copyOf(employeeWorkload);
+        upcomingAppointments = List.copyOf(upcomingAppointments);
+    }
+}
@@ -24,6 +24,8 @@ public class AppointmentResponse {
     private String service;
     private String instructions;
     private String status;
+    private Integer bay;
+    private Integer durationMinutes;
     private CustomerInfo customer;
     private EmployeeInfo employee;
     private LocalDateTime createdAt;
@@ -51,6 +53,35 @@ public class AppointmentResponse {
         private String email;
     }
 
+    /**
+     * Flat constructor used by JPQL constructor expressions in AppointmentRepository,
+     * so list queries build responses straight from the selected columns
+     */
+    public AppointmentResponse(Long id, LocalDate date, LocalTime time, String vehicleType, String vehicleNumber,
+                               String service, String instructions, Appointment.AppointmentStatus status,
+                               Integer bay, Integer durationMinutes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                               Long customerId, String customerName, String customerEmail, String customerPhone,
+                               Long employeeId, String employeeName, String employeeEmail) {
+        this.id = id;
+        this.date = date;
+        this.time = time;
+        this.vehicleType = vehicleType;
+        this.vehicleNumber = vehicleNumber;
+        this.service = service;
+        this.instructions = instructions;
+        this.status = status.name();
+        this.bay = bay;
+        this.durationMinutes = durationMinutes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        if (customerId != null) {
+            this.customer = new CustomerInfo(customerId, customerName, customerEmail, customerPhone);
+        }
+        if (employeeId != null) {
+            this.employee = new EmployeeInfo(employeeId, employeeName, employeeEmail);
+        }
+    }
+
     public static AppointmentResponse fromEntity(Appointment appointment) {
         AppointmentResponseBuilder builder = AppointmentResponse.builder()
                 .id(appointment.getId())
@@ -61,6 +92,8 @@ public class AppointmentResponse {
                 .service(appointment.getService())
                 .instructions(appointment.getInstructions())
                 .status(appointment.getStatus().name())
+                .bay(appointment.getBay())
+                .durationMinutes(appointment.getDurationMinutes())
                 .createdAt(appointment.getCreatedAt())
                 .updatedAt(appointment.getUpdatedAt());
 
@@ -5,5 +5,6 @@ public record AuthResponse(
     String fullName,
     String email,
     String role,
-    String JWT
+    String JWT,
+    String refreshToken
 ) {}
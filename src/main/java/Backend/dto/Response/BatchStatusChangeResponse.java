@@ -0,0 +1,32 @@
+package Backend.dto.Response;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch status change, one result per requested ID in request order
+ */
+public record BatchStatusChangeResponse(int updated, int failed, List<Result> results) {
+
+    public BatchStatusChangeResponse {
+        results = List.copyOf(results);
+    }
+
+    public static BatchStatusChangeResponse of(List<Result> results) {
+        int updated = (int) results.stream().filter(Result::updated).count();
+        return new BatchStatusChangeResponse(updated, results.size() - updated, results);
+    }
+
+    /**
+     * Either the updated appointment or the reason it was left unchanged
+     */
+    public record Result(Long id, boolean updated, String error, AppointmentResponse appointment) {
+
+        public static Result success(AppointmentResponse appointment) {
+            return new Result(appointment.getId(), true, null, appointment);
+        }
+
+        public static Result failure(Long id, String error) {
+            return new Result(id, false, error, null);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package Backend.dto.Response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * nextCursor is null on the last page; pass it back as ?cursor= to get the following page.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor,
+    boolean hasMore
+) {
+    public CursorPage {
+        items = List.copyOf(items);
+    }
+}
@@ -0,0 +1,15 @@
+package Backend.dto.Response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Delta pushed on /topic/dashboard.
+ * changedStatusCounts only contains the statuses whose count changed since the previous push.
+ */
+public record DashboardUpdate(
+    Map<String, Long> changedStatusCounts,
+    Long totalServices,
+    Long todayAppointments,
+    LocalDateTime generatedAt
+) {}
@@ -0,0 +1,13 @@
+package Backend.dto.Response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Free booking slots on one day, earliest first
+ */
+public record DayAvailability(
+    LocalDate date,
+    List<LocalTime> availableSlots
+) {}
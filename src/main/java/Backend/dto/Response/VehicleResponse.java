@@ -0,0 +1,15 @@
+package Backend.dto.Response;
+
+/**
+ * A registered vehicle with its current owner; owner fields are null once the owner is deleted
+ */
+public record VehicleResponse(
+    Long id,
+    String plateNumber,
+    String displayNumber,
+    String vehicleType,
+    Long ownerId,
+    String ownerName,
+    String ownerEmail,
+    String ownerPhone
+) {}
@@ -0,0 +1,32 @@
+package Backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the id ordering of a user directory listing.
+ * Handed to clients as an opaque URL-safe token; the next page starts strictly after it.
+ */
+public record UserCursor(Long id) {
+
+    /** Sorts before every user */
+    public static final UserCursor START = new UserCursor(0L);
+
+    /**
+     * Decode a token, starting from the first user when no token was sent
+     */
+    public static UserCursor decodeOrStart(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            return new UserCursor(Long.valueOf(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
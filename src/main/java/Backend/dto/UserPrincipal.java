@@ -1,12 +1,15 @@
 package Backend.dto;
 
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import Backend.entity.Role;
 import Backend.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,14 +18,22 @@ import lombok.Data;
 @AllArgsConstructor
 public class UserPrincipal implements UserDetails {
 
+    // One immutable authority list per role, built once
+    private static final Map<Role.RoleName, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.RoleName.class);
+
+    static {
+        for (Role.RoleName roleName : Role.RoleName.values()) {
+            // ✅ Add ROLE_ prefix for Spring Security
+            AUTHORITIES.put(roleName, List.of(new SimpleGrantedAuthority("ROLE_" + roleName.name())));
+        }
+    }
+
     private User user;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-    // ✅ Add ROLE_ prefix for Spring Security
-    String roleName = user.getRole().getName().name();
-    return List.of(new SimpleGrantedAuthority("ROLE_" + roleName));
-}
+        return AUTHORITIES.get(user.getRole().getName());
+    }
 
     @Override
     public String getPassword() {
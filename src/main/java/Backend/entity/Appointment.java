@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,23 +14,51 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Keyset pagination over (date, time, id), overall and per filter
+        @Index(name = "idx_appointments_date_time_id", columnList = "date, time, id"),
+        @Index(name = "idx_appointments_customer_date_time_id", columnList = "customer_id, date, time, id"),
+        @Index(name = "idx_appointments_employee_date_time_id", columnList = "employee_id, date, time, id"),
+        @Index(name = "idx_appointments_status_date_time_id", columnList = "status, date, time, id"),
+        // Service history of a vehicle
+        @Index(name = "idx_appointments_vehicle_date_time_id", columnList = "vehicle_id, date, time, id")
+})
+@NamedEntityGraph(name = Appointment.GRAPH_PARTIES, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("employee")
+})
+@NamedEntityGraph(name = Appointment.GRAPH_PARTIES_WITH_ROLES, attributeNodes = {
+        @NamedAttributeNode(value = "customer", subgraph = "user.role"),
+        @NamedAttributeNode(value = "employee", subgraph = "user.role")
+}, subgraphs = @NamedSubgraph(name = "user.role", attributeNodes = @NamedAttributeNode("role")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
 
+    /** Customer and employee, enough for AppointmentResponse and emails */
+    public static final String GRAPH_PARTIES = "Appointment.parties";
+
+    /** Customer and employee with their roles, for endpoints that serialize the entity itself */
+    public static final String GRAPH_PARTIES_WITH_ROLES = "Appointment.partiesWithRoles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -43,24 +73,43 @@ public class Appointment {
 
     private String vehicleNumber;
 
+    // Registry entry for vehicleNumber; null when no plate was given
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "vehicle_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Vehicle vehicle;
+
     @Column(name = "service", nullable = false)
     private String service;
 
     @Column(columnDefinition = "TEXT")
     private String instructions;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false) 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User customer;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User employee;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AppointmentStatus status = AppointmentStatus.PENDING;
 
+    // Service bay the appointment occupies, numbered from 1
+    @ColumnDefault("1")
+    @Column(nullable = false)
+    private Integer bay = 1;
+
+    // Length of the booking; null means one slot
+    private Integer durationMinutes;
+
     @Min(0)
     @Max(100)
     @Column(nullable = false)
@@ -0,0 +1,44 @@
+package Backend.entity;
+
+import java.time.LocalDate;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of appointments per appointment date and status.
+ * Maintained in the same transaction as the appointment writes.
+ */
+@Entity
+@Table(name = "appointment_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_status", columnNames = { "date", "status" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AppointmentStatus status;
+
+    @Column(name = "appointment_count", nullable = false)
+    private Long count = 0L;
+}
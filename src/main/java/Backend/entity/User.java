@@ -1,12 +1,18 @@
 package Backend.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Keyset pages of the user directory per role
+        @Index(name = "idx_users_role_id", columnList = "role_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,8 +32,15 @@ public class User {
     private String password;
     
     private boolean enabled = true;
+
+    // Bumped when the account is disabled so stateless tokens issued before stop working
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Role role;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package Backend.event;
+
+/**
+ * Published by the appointment write paths.
+ * previous is null for a created appointment, current is null for a deleted one.
+ */
+public record AppointmentChangedEvent(
+    AppointmentSnapshot previous,
+    AppointmentSnapshot current
+) {
+
+    public static AppointmentChangedEvent created(AppointmentSnapshot current) {
+        return new AppointmentChangedEvent(null, current);
+    }
+
+    public static AppointmentChangedEvent updated(AppointmentSnapshot previous, AppointmentSnapshot current) {
+        return new AppointmentChangedEvent(previous, current);
+    }
+
+    public static AppointmentChangedEvent deleted(AppointmentSnapshot previous) {
+        return new AppointmentChangedEvent(previous, null);
+    }
+}
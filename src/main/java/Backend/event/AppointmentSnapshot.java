@@ -0,0 +1,34 @@
+package Backend.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import Backend.entity.Appointment;
+import Backend.entity.Appointment.AppointmentStatus;
+
+/**
+ * Immutable copy of the appointment fields that read models care about.
+ * Taken before and after a write so listeners can apply the difference.
+ */
+public record AppointmentSnapshot(
+    Long id,
+    LocalDate date,
+    LocalTime time,
+    AppointmentStatus status,
+    Long employeeId,
+    Integer bay,
+    Integer durationMinutes
+) {
+
+    public static AppointmentSnapshot of(Appointment appointment) {
+        return new AppointmentSnapshot(
+            appointment.getId(),
+            appointment.getDate(),
+            appointment.getTime(),
+            appointment.getStatus(),
+            appointment.getEmployee() != null ? appointment.getEmployee().getId() : null,
+            appointment.getBay(),
+            appointment.getDurationMinutes()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package Backend.event;
+
+/**
+ * Published when a user account is created, enabled, disabled or deleted,
+ * so caches of user data can drop their entries once the change has committed.
+ */
+public record UserAccountChangedEvent(Long userId) {
+}
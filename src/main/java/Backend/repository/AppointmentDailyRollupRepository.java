@@ -0,0 +1,38 @@
+package Backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.AppointmentDailyRollup;
+
+@Repository
+public interface AppointmentDailyRollupRepository extends JpaRepository<AppointmentDailyRollup, Long> {
+
+    // Add delta to an existing rollup row, returns the number of rows updated
+    @Modifying
+    @Query("UPDATE AppointmentDailyRollup r SET r.count = r.count + :delta WHERE r.date = :date AND r.status = :status")
+    int incrementCount(@Param("date") LocalDate date, @Param("status") AppointmentStatus status, @Param("delta") long delta);
+
+    boolean existsByDateAndStatus(LocalDate date, AppointmentStatus status);
+
+    // Appointments per calendar month in a date range: [year, month, count]
+    @Query("SELECT YEAR(r.date), MONTH(r.date), SUM(r.count) FROM AppointmentDailyRollup r " +
+            "WHERE r.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(r.date), MONTH(r.date)")
+    List<Object[]> sumGroupedByMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Appointments per status: [status, count]
+    @Query("SELECT r.status, SUM(r.count) FROM AppointmentDailyRollup r GROUP BY r.status")
+    List<Object[]> sumGroupedByStatus();
+
+    // Appointments per date: [date, count]
+    @Query("SELECT r.date, SUM(r.count) FROM AppointmentDailyRollup r GROUP BY r.date")
+    List<Object[]> sumGroupedByDate();
+}
@@ -3,37 +3,76 @@ package Backend.repository;
 import Backend.entity.Appointment;
 import Backend.entity.Appointment.AppointmentStatus;
 import Backend.entity.User;
+import Backend.dto.Response.AppointmentResponse;
+import Backend.dto.Response.UpcomingAppointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-    // Find appointments by employee
+    // Selects only the columns AppointmentResponse needs; customer and employee are outer joined
+    String RESPONSE_PROJECTION = "SELECT new Backend.dto.Response.AppointmentResponse(" +
+            "a.id, a.date, a.time, a.vehicleType, a.vehicleNumber, a.service, a.instructions, a.status, " +
+            "a.bay, a.durationMinutes, a.createdAt, a.updatedAt, c.id, c.fullName, c.email, c.phone, e.id, e.fullName, e.email) " +
+            "FROM Appointment a LEFT JOIN a.customer c LEFT JOIN a.employee e ";
+
+    String KEYSET_AFTER = "WHERE (a.date, a.time, a.id) > (:date, :time, :id) ";
+
+    String KEYSET_ORDER = "ORDER BY a.date, a.time, a.id";
+
+    // Find appointment by ID together with customer and employee
+    @EntityGraph(Appointment.GRAPH_PARTIES)
+    Optional<Appointment> findWithPartiesById(Long id);
+
+    // Find appointments by IDs together with customer and employee (batch updates)
+    @EntityGraph(Appointment.GRAPH_PARTIES)
+    List<Appointment> findAllWithPartiesByIdIn(Collection<Long> ids);
+
+    // Find appointment by ID with customer, employee and their roles (for serializing the entity)
+    @EntityGraph(Appointment.GRAPH_PARTIES_WITH_ROLES)
+    Optional<Appointment> findWithPartiesAndRolesById(Long id);
+
+    // Find all appointments with pagination, customer and employee fetched in the same query
+    @Override
+    @EntityGraph(Appointment.GRAPH_PARTIES)
+    Page<Appointment> findAll(Pageable pageable);
+
+    // Find appointments by employee (entities are serialized directly, so roles are fetched too)
+    @EntityGraph(Appointment.GRAPH_PARTIES_WITH_ROLES)
     List<Appointment> findByEmployeeId(Long employeeId);
 
     // Find appointments by customer
+    @EntityGraph(Appointment.GRAPH_PARTIES)
     List<Appointment> findByCustomer(User customer);
 
     // Find appointments by customer with pagination
     Page<Appointment> findByCustomer(User customer, Pageable pageable);
 
     // Find appointments by employee
+    @EntityGraph(Appointment.GRAPH_PARTIES)
     List<Appointment> findByEmployee(User employee);
 
     // Find appointments by employee with pagination
     Page<Appointment> findByEmployee(User employee, Pageable pageable);
 
     // Find appointments by status
+    @EntityGraph(Appointment.GRAPH_PARTIES)
     List<Appointment> findByStatus(Appointment.AppointmentStatus status);
 
     // Find appointments by status with pagination
@@ -42,22 +81,25 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // Find appointments by date
     List<Appointment> findByDate(LocalDate date);
 
+    // Find a day's appointments in one status, earliest first (batch allocation)
+    @EntityGraph(Appointment.GRAPH_PARTIES)
+    List<Appointment> findByDateAndStatusOrderByTimeAscIdAsc(LocalDate date, Appointment.AppointmentStatus status);
+
     // Find appointments by date range
+    @EntityGraph(Appointment.GRAPH_PARTIES)
     @Query("SELECT a FROM Appointment a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date, a.time")
     List<Appointment> findByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    // Check if time slot is available
-        @Query("SELECT a FROM Appointment a WHERE a.date = :date AND a.time = :time AND a.status != 'REJECT'")
-    Optional<Appointment> findByDateAndTimeAndStatusNot(@Param("date") LocalDate date, @Param("time") LocalTime time);
-
     // Find appointments for a specific customer by status
     List<Appointment> findByCustomerAndStatus(User customer, Appointment.AppointmentStatus status);
 
-    // Count appointments by employee and status
-    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.employee = :employee AND a.status = :status")
-    long countByEmployeeAndStatus(@Param("employee") User employee, @Param("status") Appointment.AppointmentStatus status);
+    // Count appointments per employee id and status for the given statuses: [employeeId, status, count]
+    @Query("SELECT a.employee.id, a.status, COUNT(a) FROM Appointment a " +
+            "WHERE a.employee IS NOT NULL AND a.status IN :statuses GROUP BY a.employee.id, a.status")
+    List<Object[]> countGroupedByEmployeeIdAndStatus(@Param("statuses") Collection<AppointmentStatus> statuses);
 
     // Find today's appointments
+    @EntityGraph(Appointment.GRAPH_PARTIES)
     @Query("SELECT a FROM Appointment a WHERE a.date = CURRENT_DATE ORDER BY a.time")
     List<Appointment> findTodaysAppointments();
 
@@ -65,8 +107,15 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a WHERE a.customer = :customer AND a.date >= CURRENT_DATE ORDER BY a.date, a.time")
     List<Appointment> findUpcomingAppointmentsByCustomer(@Param("customer") User customer);
 
-    // Find appointments by vehicle number
-    List<Appointment> findByVehicleNumberContainingIgnoreCase(String vehicleNumber);
+    // Service history of a vehicle by normalized plate, newest first
+    @Query(RESPONSE_PROJECTION + "JOIN a.vehicle v WHERE v.plateNumber = :plateNumber " +
+            "ORDER BY a.date DESC, a.time DESC, a.id DESC")
+    List<AppointmentResponse> findResponsesByPlateNumber(@Param("plateNumber") String plateNumber);
+
+    // Appointments with a plate but no registry entry yet, in id order after the given id (backfill)
+    @Query("SELECT a FROM Appointment a WHERE a.vehicle IS NULL AND a.vehicleNumber IS NOT NULL AND a.id > :afterId " +
+            "ORDER BY a.id")
+    List<Appointment> findWithoutVehicleAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     // Count appointments by status
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.status = :status")
@@ -89,7 +138,114 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     // Count appointments by employee
     long countByEmployee(User employee);
-    
-
 
+    // List projections - build AppointmentResponse rows directly, no managed entities
+
+    // Appointment responses for a customer
+    @Query(RESPONSE_PROJECTION + "WHERE c.id = :customerId")
+    List<AppointmentResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    // Appointment responses for an employee
+    @Query(RESPONSE_PROJECTION + "WHERE e.id = :employeeId")
+    List<AppointmentResponse> findResponsesByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Appointment responses by status
+    @Query(RESPONSE_PROJECTION + "WHERE a.status = :status")
+    List<AppointmentResponse> findResponsesByStatus(@Param("status") AppointmentStatus status);
+
+    // Appointment responses in a date range
+    @Query(RESPONSE_PROJECTION + "WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date, a.time")
+    List<AppointmentResponse> findResponsesByDateBetween(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Today's appointment responses
+    @Query(RESPONSE_PROJECTION + "WHERE a.date = CURRENT_DATE ORDER BY a.time")
+    List<AppointmentResponse> findTodaysResponses();
+
+    // Keyset pages - rows strictly after the cursor in (date, time, id) order, backed by the composite indexes
+
+    // Next page of all appointments
+    @Query(RESPONSE_PROJECTION + KEYSET_AFTER + KEYSET_ORDER)
+    List<AppointmentResponse> findResponsesAfter(@Param("date") LocalDate date, @Param("time") LocalTime time,
+            @Param("id") Long id, Pageable pageable);
+
+    // Next page of a customer's appointments
+    @Query(RESPONSE_PROJECTION + KEYSET_AFTER + "AND c.id = :customerId " + KEYSET_ORDER)
+    List<AppointmentResponse> findResponsesByCustomerIdAfter(@Param("customerId") Long customerId,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, @Param("id") Long id, Pageable pageable);
+
+    // Next page of an employee's appointments
+    @Query(RESPONSE_PROJECTION + KEYSET_AFTER + "AND e.id = :employeeId " + KEYSET_ORDER)
+    List<AppointmentResponse> findResponsesByEmployeeIdAfter(@Param("employeeId") Long employeeId,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, @Param("id") Long id, Pageable pageable);
+
+    // Next page of appointments with a status
+    @Query(RESPONSE_PROJECTION + KEYSET_AFTER + "AND a.status = :status " + KEYSET_ORDER)
+    List<AppointmentResponse> findResponsesByStatusAfter(@Param("status") AppointmentStatus status,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, @Param("id") Long id, Pageable pageable);
+
+    // Next page of appointments up to an end date
+    @Query(RESPONSE_PROJECTION + KEYSET_AFTER + "AND a.date <= :endDate " + KEYSET_ORDER)
+    List<AppointmentResponse> findResponsesUntilAfter(@Param("endDate") LocalDate endDate,
+            @Param("date") LocalDate date, @Param("time") LocalTime time, @Param("id") Long id, Pageable pageable);
+
+    // Stream appointment responses in a date range for export; rows are fetched from the cursor in batches
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE_PROJECTION + "WHERE a.date BETWEEN :startDate AND :endDate " + KEYSET_ORDER)
+    Stream<AppointmentResponse> streamResponsesByDateBetween(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Bookings - date, start time, bay and duration of every appointment that is not rejected
+
+    // Bookings from a date onwards: [date, time, bay, durationMinutes]
+    @Query("SELECT a.date, a.time, a.bay, a.durationMinutes FROM Appointment a " +
+            "WHERE a.date >= :from AND a.status <> :freedStatus")
+    List<Object[]> findBookingsFrom(@Param("from") LocalDate from,
+            @Param("freedStatus") AppointmentStatus freedStatus);
+
+    // Bookings in a date range: [date, time, bay, durationMinutes]
+    @Query("SELECT a.date, a.time, a.bay, a.durationMinutes FROM Appointment a " +
+            "WHERE a.date BETWEEN :from AND :to AND a.status <> :freedStatus")
+    List<Object[]> findBookingsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("freedStatus") AppointmentStatus freedStatus);
+
+    // Bookings on some dates other than the given appointments: [date, time, bay, durationMinutes].
+    // Runs without flushing, so pending changes of the caller cannot fail on a constraint here
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT a.date, a.time, a.bay, a.durationMinutes FROM Appointment a " +
+            "WHERE a.date IN :dates AND a.id NOT IN :excludedIds AND a.status <> :freedStatus")
+    List<Object[]> findBookingsOnDatesExcluding(@Param("dates") Collection<LocalDate> dates,
+            @Param("excludedIds") Collection<Long> excludedIds, @Param("freedStatus") AppointmentStatus freedStatus);
+
+    // Dashboard aggregates - computed by the database so no appointment rows are loaded
+
+    // Count appointments grouped by status: [status, count]
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a GROUP BY a.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Count appointments grouped by appointment date and status: [date, status, count]
+    @Query("SELECT a.date, a.status, COUNT(a) FROM Appointment a GROUP BY a.date, a.status")
+    List<Object[]> countGroupedByDateAndStatus();
+
+    // Count tasks per employee id for the given statuses: [employeeId, count]
+    @Query("SELECT a.employee.id, COUNT(a) FROM Appointment a " +
+            "WHERE a.employee IS NOT NULL AND a.status IN :statuses GROUP BY a.employee.id")
+    List<Object[]> countTasksGroupedByEmployeeId(@Param("statuses") Collection<AppointmentStatus> statuses);
+
+    // Count tasks per employee for the given statuses, busiest first: [employeeName, count]
+    @Query("SELECT e.fullName, COUNT(a) FROM Appointment a JOIN a.employee e " +
+            "WHERE a.status IN :statuses " +
+            "GROUP BY e.id, e.fullName ORDER BY COUNT(a) DESC")
+    List<Object[]> countTasksGroupedByEmployee(@Param("statuses") Collection<AppointmentStatus> statuses,
+            Pageable pageable);
+
+    // Next appointments from a date onwards, excluding the given statuses
+    @Query("SELECT new Backend.dto.Response.UpcomingAppointment(" +
+            "CASE WHEN c.id IS NULL THEN 'Unknown' ELSE c.fullName END, a.vehicleType, a.service, a.date) " +
+            "FROM Appointment a LEFT JOIN a.customer c " +
+            "WHERE a.date >= :startDate AND a.status NOT IN :excludedStatuses " +
+            "ORDER BY a.date, a.time")
+    List<UpcomingAppointment> findUpcomingSummaries(@Param("startDate") LocalDate startDate,
+            @Param("excludedStatuses") Collection<AppointmentStatus> excludedStatuses,
+            Pageable pageable);
 }
\ No newline at end of file
@@ -18,9 +18,9 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     @Query("SELECT s.status as status, COUNT(s) as count FROM Service s GROUP BY s.status")
     List<Object[]> countByStatusGrouped();
     
-    @Query("SELECT FUNCTION('TO_CHAR', s.createdAt, 'Mon') as month, COUNT(s) as value " +
-           "FROM Service s WHERE s.createdAt >= :startDate GROUP BY FUNCTION('TO_CHAR', s.createdAt, 'Mon') " +
-           "ORDER BY MIN(s.createdAt)")
+    @Query("SELECT YEAR(s.createdAt) as year, MONTH(s.createdAt) as month, COUNT(s) as value " +
+           "FROM Service s WHERE s.createdAt >= :startDate GROUP BY YEAR(s.createdAt), MONTH(s.createdAt) " +
+           "ORDER BY YEAR(s.createdAt), MONTH(s.createdAt)")
     List<Object[]> getMonthlyTrend(LocalDateTime startDate);
     
     @Query("SELECT e.fullName as employeeName, COUNT(s) as taskCount " +
@@ -1,9 +1,16 @@
 package Backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import Backend.entity.Role;
@@ -11,14 +18,57 @@ import Backend.entity.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Role is fetched with the user: authorities are built from it outside any transaction
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findWithRoleById(Long id);
 
     /**
      * Find all users by role name enum
      * Spring Data JPA automatically generates: WHERE role.name = ?
      */
+    @EntityGraph(attributePaths = "role")
     List<User> findByRole_Name(Role.RoleName roleName);
+    @EntityGraph(attributePaths = "role")
     List<User> findByRole(Role role);
+    @EntityGraph(attributePaths = "role")
+    List<User> findByRole_NameAndEnabledTrue(Role.RoleName roleName);
+    @Override
+    @EntityGraph(attributePaths = "role")
+    Page<User> findAll(Pageable pageable);
     long countByEnabled(boolean enabled);
+
+    // Directory pages - a role's users strictly after the cursor in id order, backed by idx_users_role_id.
+    // The search variant matches a lower-cased prefix against name or email and a raw prefix against phone;
+    // on PostgreSQL the trigram indexes from SchemaIndexInitializer serve those LIKEs.
+
+    // Next page of a role's users
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE u.role.name = :roleName AND u.enabled IN :enabled AND u.id > :afterId "
+            + "ORDER BY u.id")
+    List<User> findDirectoryPage(@Param("roleName") Role.RoleName roleName,
+            @Param("enabled") Collection<Boolean> enabled, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Next page of a role's users matching a search prefix; LIKE wildcards in the prefix are escaped with '!'
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE u.role.name = :roleName AND u.enabled IN :enabled AND u.id > :afterId "
+            + "AND (LOWER(u.fullName) LIKE :prefix ESCAPE '!' OR LOWER(u.email) LIKE :prefix ESCAPE '!' "
+            + "OR u.phone LIKE :prefix ESCAPE '!') ORDER BY u.id")
+    List<User> searchDirectoryPage(@Param("roleName") Role.RoleName roleName,
+            @Param("enabled") Collection<Boolean> enabled, @Param("prefix") String prefix,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    // User counts per role and enabled flag: [roleName, enabled, count]
+    @Query("SELECT r.name, u.enabled, COUNT(u) FROM User u JOIN u.role r GROUP BY r.name, u.enabled")
+    List<Object[]> countGroupedByRoleAndEnabled();
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Token version and enabled flag for stateless JWT checks: [tokenVersion, enabled]
+    @Query("SELECT u.tokenVersion, u.enabled FROM User u WHERE u.id = :id")
+    List<Object[]> findTokenStateById(@Param("id") Long id);
 }
\ No newline at end of file
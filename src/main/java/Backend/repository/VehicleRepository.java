@@ -0,0 +1,29 @@
+package Backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import Backend.dto.Response.VehicleResponse;
+import Backend.entity.Vehicle;
+
+@Repository
+public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+
+    Optional<Vehicle> findByPlateNumber(String plateNumber);
+
+    boolean existsByPlateNumber(String plateNumber);
+
+    // Vehicles whose normalized plate contains the fragment, an exact match first.
+    // On PostgreSQL the trigram index from SchemaIndexInitializer serves the LIKE.
+    @Query("SELECT new Backend.dto.Response.VehicleResponse(" +
+            "v.id, v.plateNumber, v.displayNumber, v.vehicleType, o.id, o.fullName, o.email, o.phone) " +
+            "FROM Vehicle v LEFT JOIN v.owner o WHERE v.plateNumber LIKE CONCAT('%', :fragment, '%') " +
+            "ORDER BY CASE WHEN v.plateNumber = :fragment THEN 0 ELSE 1 END, v.plateNumber")
+    List<VehicleResponse> searchByPlateFragment(@Param("fragment") String fragment, Pageable pageable);
+}
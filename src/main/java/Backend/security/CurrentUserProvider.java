@@ -0,0 +1,55 @@
+package Backend.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.User;
+import Backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolves the authenticated user of the current request.
+ * JwtAuthenticationFilter already loads the user (with role) into a UserPrincipal,
+ * so services read it from there instead of querying by email again.
+ * Other principals (e.g. plain UserDetails) fall back to a lookup by username.
+ * With jwt.stateless the principal is built from token claims and only holds ID, email and role.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+
+    private final UserRepository userRepository;
+
+    /**
+     * The authenticated user; detached, loaded once when the request was authenticated
+     *
+     * @throws RuntimeException if the request is not authenticated
+     */
+    public User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            throw new RuntimeException("User not found");
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUser();
+        }
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * The authenticated user with every field populated.
+     * Same as getCurrentUser() unless the request was authenticated from token claims alone.
+     */
+    public User loadCurrentUser() {
+        User user = getCurrentUser();
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof TokenUserPrincipal) {
+            return userRepository.findById(user.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,69 @@
+package Backend.security;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import Backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Turns a bearer token into the principal it authenticates.
+ * Shared by the HTTP filter and the STOMP CONNECT check so both accept the same tokens.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // Authenticate from token claims instead of loading the user on every request
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    /**
+     * The principal for a token, or null if the token must not authenticate.
+     * Throws the JwtService parsing exceptions for malformed, forged or expired tokens.
+     */
+    public UserDetails resolve(String jwt) {
+        UserDetails principal = verifiedTokenCache.get(jwt);
+        if (principal == null) {
+            // Signature and expiry are verified once here; the checks below reuse these claims
+            Claims claims = jwtService.parseClaims(jwt);
+            principal = resolvePrincipal(claims);
+            if (principal != null) {
+                verifiedTokenCache.put(jwt, principal, claims.getExpiration());
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Tokens of disabled or deleted accounts, or issued before a version bump, are rejected in stateless mode.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String userEmail = claims.getSubject();
+        if (userEmail == null) {
+            return null;
+        }
+
+        Optional<JwtService.TokenIdentity> identity = stateless ? jwtService.extractIdentity(claims) : Optional.empty();
+        if (identity.isPresent()) {
+            JwtService.TokenIdentity token = identity.get();
+            if (!tokenRevocationCache.isCurrent(token.userId(), token.tokenVersion())) {
+                return null;
+            }
+            return new TokenUserPrincipal(token.userId(), token.email(), token.role(), token.tokenVersion());
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
+}
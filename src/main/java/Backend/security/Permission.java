@@ -0,0 +1,68 @@
+package Backend.security;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import Backend.entity.Role.RoleName;
+
+/**
+ * What a role may do. Each role's permissions are an EnumSet built once,
+ * so a check is an array lookup by role ordinal and a bit test.
+ */
+public enum Permission {
+
+    /** See, edit and change the status of any appointment, assign employees */
+    MANAGE_APPOINTMENTS,
+
+    /** Allocate appointments to employees, manually or automatically */
+    ALLOCATE_APPOINTMENTS,
+
+    DELETE_APPOINTMENTS,
+
+    /** Operational dashboards */
+    VIEW_DASHBOARD,
+
+    /** Admin statistics */
+    VIEW_ADMIN_DASHBOARD,
+
+    SEND_EMAILS,
+
+    SEARCH_VEHICLES,
+
+    /** Work on tasks allocated to oneself */
+    WORK_ON_TASKS,
+
+    /** Create, toggle and delete user accounts */
+    MANAGE_USERS;
+
+    private static final Map<RoleName, Set<Permission>> BY_ROLE = new EnumMap<>(RoleName.class);
+
+    static {
+        Set<Permission> staff = EnumSet.of(MANAGE_APPOINTMENTS, VIEW_DASHBOARD, SEND_EMAILS, SEARCH_VEHICLES);
+        Set<Permission> admin = EnumSet.copyOf(staff);
+        admin.addAll(EnumSet.of(ALLOCATE_APPOINTMENTS, DELETE_APPOINTMENTS, VIEW_ADMIN_DASHBOARD));
+        Set<Permission> superAdmin = EnumSet.copyOf(admin);
+        superAdmin.add(MANAGE_USERS);
+        Set<Permission> employee = EnumSet.copyOf(staff);
+        employee.add(WORK_ON_TASKS);
+
+        BY_ROLE.put(RoleName.SUPER_ADMIN, Collections.unmodifiableSet(superAdmin));
+        BY_ROLE.put(RoleName.ADMIN, Collections.unmodifiableSet(admin));
+        BY_ROLE.put(RoleName.EMPLOYEE, Collections.unmodifiableSet(employee));
+        BY_ROLE.put(RoleName.CUSTOMER, Collections.unmodifiableSet(EnumSet.noneOf(Permission.class)));
+    }
+
+    /**
+     * Permissions of a role; empty for null
+     */
+    public static Set<Permission> of(RoleName role) {
+        return role != null ? BY_ROLE.get(role) : Set.of();
+    }
+
+    public boolean isGrantedTo(RoleName role) {
+        return of(role).contains(this);
+    }
+}
@@ -0,0 +1,88 @@
+package Backend.security;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role.RoleName;
+
+/**
+ * Authorizes methods annotated with RequiresPermission.
+ * The required permission is resolved once per method; each call then only
+ * tests it against the principal's role, with no expression evaluation.
+ */
+public class PermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Map<Method, Permission> requiredPermissions = new ConcurrentHashMap<>();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Permission required = requiredPermissions.computeIfAbsent(invocation.getMethod(),
+                method -> resolve(method, invocation.getThis()));
+        return required.isGrantedTo(roleOf(authentication.get())) ? GRANTED : DENIED;
+    }
+
+    /**
+     * Still abstract on AuthorizationManager; Spring Security calls authorize instead
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return (AuthorizationDecision) authorize(authentication, invocation);
+    }
+
+    private Permission resolve(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (annotation == null) {
+            throw new IllegalStateException("No @RequiresPermission on " + method);
+        }
+        return annotation.value();
+    }
+
+    /**
+     * Role straight from our principal; other principals are read from their ROLE_ authority
+     */
+    private RoleName roleOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated() || trustResolver.isAnonymous(authentication)) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUser().getRole().getName();
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                try {
+                    return RoleName.valueOf(name.substring(ROLE_PREFIX.length()));
+                } catch (IllegalArgumentException e) {
+                    // Not one of our roles
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package Backend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Allows the method, or every method of the class, only to principals whose role has the permission.
+ * A method annotation overrides the class one. Checked by PermissionAuthorizationManager.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    Permission value();
+}
@@ -0,0 +1,101 @@
+package Backend.security;
+
+import java.security.Principal;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role.RoleName;
+import Backend.service.DashboardPushService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates STOMP sessions and guards the dashboard topic.
+ * A CONNECT frame with an Authorization header ("Bearer <jwt>") sets the session user;
+ * frames without one stay anonymous, which is enough for the chat topics.
+ * Only staff may subscribe to /topic/dashboard, and nobody may publish to it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final JwtPrincipalResolver jwtPrincipalResolver;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> {
+                if (isDashboardTopic(accessor.getDestination())
+                        && !Permission.VIEW_DASHBOARD.isGrantedTo(roleOf(accessor.getUser()))) {
+                    throw new AccessDeniedException("Not allowed to subscribe to " + accessor.getDestination());
+                }
+            }
+            case SEND -> {
+                if (isDashboardTopic(accessor.getDestination())) {
+                    throw new AccessDeniedException("Not allowed to send to " + accessor.getDestination());
+                }
+            }
+            default -> {
+                // Other frames need no checks
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+        if (authHeader == null) {
+            return;
+        }
+        if (!authHeader.startsWith(BEARER_PREFIX)) {
+            throw new BadCredentialsException("Invalid Authorization header");
+        }
+
+        UserDetails principal;
+        try {
+            principal = jwtPrincipalResolver.resolve(authHeader.substring(BEARER_PREFIX.length()));
+        } catch (RuntimeException e) {
+            throw new BadCredentialsException("Invalid token", e);
+        }
+        if (principal == null) {
+            throw new BadCredentialsException("Invalid token");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * The simple broker treats subscription destinations as Ant patterns, so "/topic/*" counts too
+     */
+    private static boolean isDashboardTopic(String destination) {
+        return destination != null && PATH_MATCHER.match(destination, DashboardPushService.DASHBOARD_TOPIC);
+    }
+
+    private static RoleName roleOf(Principal user) {
+        if (user instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUser().getRole().getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package Backend.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import Backend.event.UserAccountChangedEvent;
+import Backend.repository.UserRepository;
+
+/**
+ * Answers "is this token version still valid for this user" for stateless JWT authentication.
+ * Each user's current token version and enabled flag is read once and kept for a short time,
+ * so a disabled account is locked out within the TTL on every node and immediately on this one.
+ */
+@Component
+public class TokenRevocationCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public TokenRevocationCache(UserRepository userRepository,
+                                @Value("${jwt.stateless.revocation-ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Whether a token issued with this version still belongs to an enabled account
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.isOlderThan(ttlMillis)) {
+            entry = load(userId);
+        }
+        return entry.enabled() && entry.tokenVersion() == tokenVersion;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        entries.remove(event.userId());
+    }
+
+    private Entry load(Long userId) {
+        List<Object[]> rows = userRepository.findTokenStateById(userId);
+        // A deleted user is cached as disabled
+        Entry entry = rows.isEmpty()
+                ? new Entry(-1, false, System.currentTimeMillis())
+                : new Entry(((Number) rows.get(0)[0]).intValue(), (Boolean) rows.get(0)[1], System.currentTimeMillis());
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.clear();
+        }
+        entries.put(userId, entry);
+        return entry;
+    }
+
+    private record Entry(int tokenVersion, boolean enabled, long loadedAt) {
+
+        boolean isOlderThan(long maxAgeMillis) {
+            return System.currentTimeMillis() - loadedAt > maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package Backend.security;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+
+/**
+ * Principal built from verified JWT claims without reading the users table.
+ * Its user only carries ID, email, role and token version; use
+ * CurrentUserProvider.loadCurrentUser() when the full account is needed.
+ */
+public class TokenUserPrincipal extends UserPrincipal {
+
+    public TokenUserPrincipal(Long userId, String email, Role.RoleName role, int tokenVersion) {
+        super(claimsUser(userId, email, role, tokenVersion));
+    }
+
+    private static User claimsUser(Long userId, String email, Role.RoleName role, int tokenVersion) {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setRole(new Role(null, role));
+        user.setEnabled(true);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package Backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.event.UserAccountChangedEvent;
+
+/**
+ * Identities of recently verified bearer tokens, keyed by a SHA-256 hash of the token.
+ * A burst of requests with the same token verifies the signature and resolves the user once.
+ * Entries hold an immutable copy of the user's fields and every hit builds a fresh principal,
+ * so no User entity is shared between requests.
+ * Entries live for the TTL (at most MAX_TTL_MILLIS) but never past the token's own expiry.
+ * All entries of a user are dropped when the account is disabled or deleted, but only on the
+ * node where that happened: other instances keep accepting the token until their entry expires.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** Upper bound for jwt.token-cache.ttl-ms, which is also how long other nodes may lag behind a disable */
+    public static final long MAX_TTL_MILLIS = 60_000;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.max-entries:10000}") int maxEntries,
+                              @Value("${jwt.token-cache.ttl-ms:30000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = Math.min(ttlMillis, MAX_TTL_MILLIS);
+    }
+
+    /**
+     * A new principal for the user a token was verified for, or null if it has to be verified again
+     */
+    public UserDetails get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.identity().toPrincipal();
+    }
+
+    /**
+     * Remember the user a token was verified for; only our own principals are cached
+     */
+    public void put(String token, UserDetails principal, Date tokenExpiration) {
+        if (maxEntries <= 0 || !(principal instanceof UserPrincipal userPrincipal)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + ttlMillis, tokenExpiration.getTime());
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(hash(token), new Entry(Identity.of(userPrincipal), expiresAt));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        entries.values().removeIf(entry -> event.userId().equals(entry.identity().userId()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(Identity identity, long expiresAt) {
+    }
+
+    /**
+     * Scalar fields of a verified user; the password is not kept
+     */
+    private record Identity(Long userId, String fullName, String email, String phone, Long roleId,
+                            Role.RoleName role, boolean enabled, int tokenVersion, boolean fromClaims) {
+
+        static Identity of(UserPrincipal principal) {
+            User user = principal.getUser();
+            Role role = user.getRole();
+            return new Identity(user.getId(), user.getFullName(), user.getEmail(), user.getPhone(),
+                    role.getId(), role.getName(), user.isEnabled(), user.getTokenVersion(),
+                    principal instanceof TokenUserPrincipal);
+        }
+
+        UserPrincipal toPrincipal() {
+            if (fromClaims) {
+                return new TokenUserPrincipal(userId, email, role, tokenVersion);
+            }
+            User user = new User();
+            user.setId(userId);
+            user.setFullName(fullName);
+            user.setEmail(email);
+            user.setPhone(phone);
+            user.setRole(new Role(roleId, role));
+            user.setEnabled(enabled);
+            user.setTokenVersion(tokenVersion);
+            return new UserPrincipal(user);
+        }
+    }
+}
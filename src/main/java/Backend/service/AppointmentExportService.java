@@ -0,0 +1,145 @@
+package Backend.service;
+
+import Backend.dto.Response.AppointmentResponse;
+import Backend.repository.AppointmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams appointments to an output stream as NDJSON or CSV.
+ * Rows are read from a database cursor and written one at a time, so memory use
+ * does not grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentExportService {
+
+    /** Rows written between explicit flushes to the client */
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER = "id,date,time,vehicleType,vehicleNumber,service,instructions,status,"
+            + "bay,durationMinutes,customerId,customerName,customerEmail,customerPhone,employeeId,employeeName,employeeEmail,"
+            + "createdAt,updatedAt";
+
+    /** Leading characters that make spreadsheets treat a cell as a formula */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write all appointments in the date range, ordered by date, time and id.
+     * The transaction keeps the cursor open while rows are written.
+     */
+    @Transactional(readOnly = true)
+    public long exportByDateRange(LocalDate startDate, LocalDate endDate, ExportFormat format,
+                                  OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (Stream<AppointmentResponse> appointments =
+                     appointmentRepository.streamResponsesByDateBetween(startDate, endDate)) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<AppointmentResponse> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                AppointmentResponse appointment = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, appointment);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(appointment));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} appointments from {} to {} as {}", rows, startDate, endDate, format);
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, AppointmentResponse appointment) throws IOException {
+        AppointmentResponse.CustomerInfo customer = appointment.getCustomer();
+        AppointmentResponse.EmployeeInfo employee = appointment.getEmployee();
+        Object[] values = {
+                appointment.getId(),
+                appointment.getDate(),
+                appointment.getTime(),
+                appointment.getVehicleType(),
+                appointment.getVehicleNumber(),
+                appointment.getService(),
+                appointment.getInstructions(),
+                appointment.getStatus(),
+                appointment.getBay(),
+                appointment.getDurationMinutes(),
+                customer != null ? customer.getId() : null,
+                customer != null ? customer.getFullName() : null,
+                customer != null ? customer.getEmail() : null,
+                customer != null ? customer.getPhone() : null,
+                employee != null ? employee.getId() : null,
+                employee != null ? employee.getFullName() : null,
+                employee != null ? employee.getEmail() : null,
+                appointment.getCreatedAt(),
+                appointment.getUpdatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV field when it contains a separator, quote or line break (RFC 4180).
+     * Text that a spreadsheet would run as a formula is prefixed with an apostrophe first.
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
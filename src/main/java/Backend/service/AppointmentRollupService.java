@@ -0,0 +1,187 @@
+package Backend.service;
+
+import Backend.dto.Response.MonthlyServiceTrend;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.AppointmentDailyRollup;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
+import Backend.repository.AppointmentDailyRollupRepository;
+import Backend.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.*;
+
+/**
+ * Keeps the appointment_daily_rollup table in step with appointment writes
+ * and answers trend queries from it. A scheduled reconcile corrects any drift.
+ */
+@Service
+@Slf4j
+public class AppointmentRollupService {
+
+    private final AppointmentDailyRollupRepository rollupRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate requiresNewTransaction;
+
+    public AppointmentRollupService(AppointmentDailyRollupRepository rollupRepository,
+                                    AppointmentRepository appointmentRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Runs synchronously inside the publishing transaction, so the rollup
+     * commits or rolls back together with the appointment write.
+     */
+    @EventListener
+    @Transactional
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        AppointmentSnapshot previous = event.previous();
+        AppointmentSnapshot current = event.current();
+        if (previous != null && current != null
+                && Objects.equals(previous.date(), current.date())
+                && previous.status() == current.status()) {
+            return;
+        }
+        if (previous != null) {
+            adjust(previous.date(), previous.status(), -1);
+        }
+        if (current != null) {
+            adjust(current.date(), current.status(), 1);
+        }
+    }
+
+    /**
+     * Monthly appointment counts for an inclusive month range, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyServiceTrend> getMonthlyTrend(YearMonth firstMonth, YearMonth lastMonth, boolean includeYear) {
+        Map<YearMonth, Long> monthlyCounts = new HashMap<>();
+        for (Object[] row : rollupRepository.sumGroupedByMonth(firstMonth.atDay(1), lastMonth.atEndOfMonth())) {
+            YearMonth yearMonth = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            monthlyCounts.put(yearMonth, ((Number) row[2]).longValue());
+        }
+
+        List<MonthlyServiceTrend> trends = new ArrayList<>();
+        for (YearMonth yearMonth = firstMonth; !yearMonth.isAfter(lastMonth); yearMonth = yearMonth.plusMonths(1)) {
+            String monthName = yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+            if (includeYear) {
+                monthName += " " + yearMonth.getYear();
+            }
+            trends.add(new MonthlyServiceTrend(monthName, monthlyCounts.getOrDefault(yearMonth, 0L).intValue()));
+        }
+        return trends;
+    }
+
+    /**
+     * Backfill the rollup for existing data on first start.
+     * Runs before the dashboard counters are loaded from it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void backfillIfEmpty() {
+        try {
+            if (rollupRepository.count() == 0 && appointmentRepository.count() > 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill appointment rollup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Correct rows that drifted from the appointments table, e.g. after writes that bypass the
+     * service or a lost event. Only differing rows are written, so a reconcile rarely touches a
+     * row that an appointment write is adjusting at the same time; if it does, the next run
+     * repairs it.
+     */
+    @Scheduled(initialDelayString = "${appointments.rollup.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${appointments.rollup.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Integer corrected = requiresNewTransaction.execute(tx -> correctDrift());
+            if (corrected != null && corrected > 0) {
+                log.warn("Appointment rollup reconciled, {} rows corrected", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile appointment rollup: {}", e.getMessage());
+        }
+    }
+
+    private int correctDrift() {
+        Map<LocalDate, Map<AppointmentStatus, Long>> actual = new HashMap<>();
+        for (Object[] row : appointmentRepository.countGroupedByDateAndStatus()) {
+            actual.computeIfAbsent((LocalDate) row[0], date -> new EnumMap<>(AppointmentStatus.class))
+                    .put((AppointmentStatus) row[1], ((Number) row[2]).longValue());
+        }
+
+        int corrected = 0;
+        for (AppointmentDailyRollup rollup : rollupRepository.findAll()) {
+            Map<AppointmentStatus, Long> byStatus = actual.get(rollup.getDate());
+            Long count = byStatus != null ? byStatus.remove(rollup.getStatus()) : null;
+            long expected = count != null ? count : 0L;
+            if (rollup.getCount() != expected) {
+                rollup.setCount(expected);
+                corrected++;
+            }
+        }
+        // Dates and statuses without a row yet
+        List<AppointmentDailyRollup> missing = new ArrayList<>();
+        actual.forEach((date, byStatus) -> byStatus.forEach((status, count) ->
+                missing.add(new AppointmentDailyRollup(null, date, status, count))));
+        rollupRepository.saveAll(missing);
+        return corrected + missing.size();
+    }
+
+    /**
+     * Recompute the whole rollup from the appointments table
+     */
+    @Transactional
+    public void rebuild() {
+        rollupRepository.deleteAllInBatch();
+        List<AppointmentDailyRollup> rows = new ArrayList<>();
+        for (Object[] row : appointmentRepository.countGroupedByDateAndStatus()) {
+            rows.add(new AppointmentDailyRollup(null, (LocalDate) row[0], (AppointmentStatus) row[1],
+                    ((Number) row[2]).longValue()));
+        }
+        rollupRepository.saveAll(rows);
+        log.info("Appointment rollup rebuilt with {} rows", rows.size());
+    }
+
+    private void adjust(LocalDate date, AppointmentStatus status, long delta) {
+        if (date == null || status == null) {
+            return;
+        }
+        if (rollupRepository.incrementCount(date, status, delta) > 0) {
+            return;
+        }
+        // First appointment for this date and status: create the row in its own
+        // transaction so a concurrent creator only loses the insert, not the booking
+        try {
+            requiresNewTransaction.executeWithoutResult(tx -> {
+                if (!rollupRepository.existsByDateAndStatus(date, status)) {
+                    rollupRepository.save(new AppointmentDailyRollup(null, date, status, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rollup row for {} {} created concurrently", date, status);
+        }
+        rollupRepository.incrementCount(date, status, delta);
+    }
+}
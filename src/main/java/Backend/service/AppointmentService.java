@@ -1,25 +1,48 @@
 package Backend.service;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import Backend.dto.Request.CreateAppointmentRequest;
 import Backend.dto.Request.UpdateAppointmentRequest;
+import Backend.config.AppointmentSlotProperties;
+import Backend.config.SchemaIndexInitializer;
+import Backend.dto.AppointmentCursor;
 import Backend.dto.Response.AppointmentResponse;
+import Backend.dto.Response.BatchStatusChangeResponse;
+import Backend.dto.Response.CursorPage;
 import Backend.entity.Appointment;
+import Backend.entity.Role;
 import Backend.entity.User;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
 import Backend.repository.AppointmentRepository;
 import Backend.repository.UserRepository;
+import Backend.security.CurrentUserProvider;
+import Backend.security.Permission;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -27,20 +50,26 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class AppointmentService {
 
+    private static final String SLOT_TAKEN_MESSAGE = "The selected time slot is not available";
+
+    /** Upper bound for the limit of keyset-paginated listings */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final EmployeeWorkloadService employeeWorkloadService;
     private final EmailService emailService;
     private final ChatService chatService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final VehicleService vehicleService;
+    private final AppointmentSlotProperties slotProperties;
 
     /**
      * Create a new appointment
      */
     public AppointmentResponse createAppointment(CreateAppointmentRequest request) {
-        // Check if time slot is available
-        if (isTimeSlotTaken(request.getDate(), request.getTime(), null)) {
-            throw new RuntimeException("The selected time slot is not available");
-        }
-
         // Create appointment entity
         Appointment appointment = new Appointment();
         appointment.setDate(request.getDate());
@@ -60,7 +89,8 @@ public class AppointmentService {
         } else {
             // Try to get authenticated user
             try {
-                User customer = getCurrentUser();
+                // Stored on the appointment and used in emails, so load the full account
+                User customer = currentUserProvider.loadCurrentUser();
                 appointment.setCustomer(customer);
             } catch (Exception e) {
                 // No authenticated user - appointment must have a customer
@@ -69,9 +99,21 @@ public class AppointmentService {
         }
 
         appointment.setStatus(Appointment.AppointmentStatus.PENDING);
+        appointment.setVehicle(vehicleService.register(
+                appointment.getVehicleNumber(), appointment.getVehicleType(), appointment.getCustomer()));
+
+        // Claim a bay for the whole service duration
+        int durationMinutes = slotProperties.durationFor(appointment.getService());
+        int bay = slotAvailabilityIndex.reserve(appointment.getDate(), appointment.getTime(), durationMinutes);
+        if (bay < 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN_MESSAGE);
+        }
+        appointment.setBay(bay);
+        appointment.setDurationMinutes(durationMinutes);
 
-        // Save appointment
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        // Save appointment - the database constraints reject a double booking from another node
+        Appointment savedAppointment = saveReservingSlot(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.created(AppointmentSnapshot.of(savedAppointment)));
 
         // Send confirmation email
         emailService.sendAppointmentConfirmation(savedAppointment);
@@ -93,7 +135,7 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public AppointmentResponse getAppointmentById(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
 
         return AppointmentResponse.fromEntity(appointment);
@@ -106,10 +148,7 @@ public class AppointmentService {
     public List<AppointmentResponse> getMyAppointments() {
         User currentUser = getCurrentUser();
 
-        List<Appointment> appointments = appointmentRepository.findByCustomer(currentUser);
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return appointmentRepository.findResponsesByCustomerId(currentUser.getId());
     }
 
     /**
@@ -117,17 +156,14 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByStatus(Appointment.AppointmentStatus status) {
-        List<Appointment> appointments = appointmentRepository.findByStatus(status);
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return appointmentRepository.findResponsesByStatus(status);
     }
 
     /**
      * Update appointment
      */
     public AppointmentResponse updateAppointment(Long id, UpdateAppointmentRequest request) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
 
         User currentUser = getCurrentUser();
@@ -137,15 +173,11 @@ public class AppointmentService {
             throw new RuntimeException("You don't have permission to update this appointment");
         }
 
+        AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
+        String serviceBefore = appointment.getService();
+
         // Update fields if provided
         if (request.getDate() != null) {
-            // Check if new time slot is available (excluding current appointment)
-            if (!appointment.getDate().equals(request.getDate()) ||
-                    !appointment.getTime().equals(request.getTime())) {
-                if (isTimeSlotTaken(request.getDate(), request.getTime(), id)) {
-                    throw new RuntimeException("The selected time slot is not available");
-                }
-            }
             appointment.setDate(request.getDate());
         }
 
@@ -161,6 +193,11 @@ public class AppointmentService {
             appointment.setVehicleNumber(request.getVehicleNumber());
         }
 
+        if (request.getVehicleNumber() != null || request.getVehicleType() != null) {
+            appointment.setVehicle(vehicleService.register(
+                    appointment.getVehicleNumber(), appointment.getVehicleType(), appointment.getCustomer()));
+        }
+
         if (request.getService() != null) {
             appointment.setService(request.getService());
         }
@@ -179,13 +216,16 @@ public class AppointmentService {
         }
 
         // Only admins/employees can assign employees
-        if (request.getEmployeeId() != null && hasAdminOrEmployeeRole(currentUser)) {
+        if (request.getEmployeeId() != null && hasPermission(currentUser, Permission.MANAGE_APPOINTMENTS)) {
             User employee = userRepository.findById(request.getEmployeeId())
                     .orElseThrow(() -> new RuntimeException("Employee not found"));
             appointment.setEmployee(employee);
         }
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        // A new date, time or service, or a rejected booking coming back, needs a bay again
+        reassignBayIfMoved(appointment, before, serviceBefore);
+        Appointment updatedAppointment = saveReservingSlot(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(updatedAppointment)));
 
         // Send approval email if status changed to APPROVE
         if (statusChangedToApprove) {
@@ -199,7 +239,7 @@ public class AppointmentService {
      * Cancel appointment
      */
     public AppointmentResponse cancelAppointment(Long id) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
 
         User currentUser = getCurrentUser();
@@ -209,8 +249,10 @@ public class AppointmentService {
             throw new RuntimeException("You don't have permission to cancel this appointment");
         }
 
+        AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
         appointment.setStatus(Appointment.AppointmentStatus.REJECT);
         Appointment cancelledAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(cancelledAppointment)));
 
         return AppointmentResponse.fromEntity(cancelledAppointment);
     }
@@ -225,11 +267,12 @@ public class AppointmentService {
         User currentUser = getCurrentUser();
 
         // Only admins can delete appointments
-        if (!hasAdminRole(currentUser)) {
+        if (!hasPermission(currentUser, Permission.DELETE_APPOINTMENTS)) {
             throw new RuntimeException("Only administrators can delete appointments");
         }
 
         appointmentRepository.delete(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.deleted(AppointmentSnapshot.of(appointment)));
     }
 
     /**
@@ -237,10 +280,7 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getTodaysAppointments() {
-        List<Appointment> appointments = appointmentRepository.findTodaysAppointments();
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return appointmentRepository.findTodaysResponses();
     }
 
     /**
@@ -248,10 +288,7 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<Appointment> appointments = appointmentRepository.findByDateBetween(startDate, endDate);
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return appointmentRepository.findResponsesByDateBetween(startDate, endDate);
     }
 
     /**
@@ -259,13 +296,11 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByEmployee(Long employeeId) {
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+        if (!userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found with id: " + employeeId);
+        }
 
-        List<Appointment> appointments = appointmentRepository.findByEmployee(employee);
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return appointmentRepository.findResponsesByEmployeeId(employeeId);
     }
 
     /**
@@ -273,13 +308,110 @@ public class AppointmentService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAppointmentsByCustomer(Long customerId) {
-        User customer = userRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
+        if (!userRepository.existsById(customerId)) {
+            throw new RuntimeException("Customer not found with id: " + customerId);
+        }
+
+        return appointmentRepository.findResponsesByCustomerId(customerId);
+    }
+
+    // Keyset-paginated listings, ordered by (date, time, id)
+
+    /**
+     * Page through all appointments
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointmentsPage(String cursor, int limit) {
+        return keysetPage(cursor, AppointmentCursor.START, limit,
+                (after, pageable) -> appointmentRepository.findResponsesAfter(
+                        after.date(), after.time(), after.id(), pageable));
+    }
+
+    /**
+     * Page through the current user's appointments
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getMyAppointmentsPage(String cursor, int limit) {
+        Long customerId = getCurrentUser().getId();
+        return keysetPage(cursor, AppointmentCursor.START, limit,
+                (after, pageable) -> appointmentRepository.findResponsesByCustomerIdAfter(
+                        customerId, after.date(), after.time(), after.id(), pageable));
+    }
+
+    /**
+     * Page through appointments with a status
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointmentsByStatusPage(Appointment.AppointmentStatus status,
+                                                                       String cursor, int limit) {
+        return keysetPage(cursor, AppointmentCursor.START, limit,
+                (after, pageable) -> appointmentRepository.findResponsesByStatusAfter(
+                        status, after.date(), after.time(), after.id(), pageable));
+    }
+
+    /**
+     * Page through appointments in a date range
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointmentsByDateRangePage(LocalDate startDate, LocalDate endDate,
+                                                                          String cursor, int limit) {
+        // A cursor from another listing or range would silently skip or repeat rows
+        AppointmentCursor after = AppointmentCursor.decodeOrDefault(cursor, AppointmentCursor.startOf(startDate));
+        if (after.date().isBefore(startDate) || after.date().isAfter(endDate)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return keysetPage(after, limit,
+                (position, pageable) -> appointmentRepository.findResponsesUntilAfter(
+                        endDate, position.date(), position.time(), position.id(), pageable));
+    }
+
+    /**
+     * Page through an employee's appointments
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointmentsByEmployeePage(Long employeeId, String cursor, int limit) {
+        if (!userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found with id: " + employeeId);
+        }
 
-        List<Appointment> appointments = appointmentRepository.findByCustomer(customer);
-        return appointments.stream()
-                .map(AppointmentResponse::fromEntity)
-                .collect(Collectors.toList());
+        return keysetPage(cursor, AppointmentCursor.START, limit,
+                (after, pageable) -> appointmentRepository.findResponsesByEmployeeIdAfter(
+                        employeeId, after.date(), after.time(), after.id(), pageable));
+    }
+
+    /**
+     * Page through a customer's appointments
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentResponse> getAppointmentsByCustomerPage(Long customerId, String cursor, int limit) {
+        if (!userRepository.existsById(customerId)) {
+            throw new RuntimeException("Customer not found with id: " + customerId);
+        }
+
+        return keysetPage(cursor, AppointmentCursor.START, limit,
+                (after, pageable) -> appointmentRepository.findResponsesByCustomerIdAfter(
+                        customerId, after.date(), after.time(), after.id(), pageable));
+    }
+
+    /**
+     * Fetch one row more than requested to learn whether another page follows
+     */
+    private CursorPage<AppointmentResponse> keysetPage(String cursor, AppointmentCursor firstCursor, int limit,
+                                                       BiFunction<AppointmentCursor, Pageable, List<AppointmentResponse>> query) {
+        return keysetPage(AppointmentCursor.decodeOrDefault(cursor, firstCursor), limit, query);
+    }
+
+    private CursorPage<AppointmentResponse> keysetPage(AppointmentCursor after, int limit,
+                                                       BiFunction<AppointmentCursor, Pageable, List<AppointmentResponse>> query) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<AppointmentResponse> rows = query.apply(after, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<AppointmentResponse> items = rows.subList(0, pageSize);
+        String nextCursor = AppointmentCursor.after(items.get(pageSize - 1)).encode();
+        return new CursorPage<>(items, nextCursor, true);
     }
 
     /**
@@ -295,12 +427,12 @@ public class AppointmentService {
 public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeId) {
     // Verify current user has permission
     User currentUser = getCurrentUser();
-    if (!hasAdminRole(currentUser)) {
+    if (!hasPermission(currentUser, Permission.ALLOCATE_APPOINTMENTS)) {
         throw new RuntimeException("Only Super Admin can allocate appointments");
     }
     
     // Find appointment
-    Appointment appointment = appointmentRepository.findById(appointmentId)
+    Appointment appointment = appointmentRepository.findWithPartiesById(appointmentId)
             .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + appointmentId));
     
     // Validate appointment status
@@ -315,8 +447,8 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
             .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
     
     // Validate employee role
-    String employeeRole = employee.getRole().getName().name();
-    if (!"EMPLOYEE".equals(employeeRole)) {
+    Role.RoleName employeeRole = employee.getRole().getName();
+    if (employeeRole != Role.RoleName.EMPLOYEE) {
         throw new RuntimeException(
             "Selected user is not an employee. Role: " + employeeRole
         );
@@ -328,10 +460,12 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
     }
     
     // Allocate appointment
+    AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
     appointment.setEmployee(employee);
     appointment.setStatus(Appointment.AppointmentStatus.IN_PROGRESS);
     
     Appointment savedAppointment = appointmentRepository.save(appointment);
+    eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(savedAppointment)));
     
     // Send email notifications to both customer and employee
     emailService.sendTaskAllocationToCustomer(savedAppointment);
@@ -340,6 +474,74 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
     return AppointmentResponse.fromEntity(savedAppointment);
 }
 
+    /**
+     * Allocate every APPROVE appointment of a day in one transaction.
+     * Appointments are taken in time order and each goes to the enabled employee
+     * with the fewest IN_PROGRESS tasks at that point (ties go to the lowest id),
+     * using a min-heap keyed on that load.
+     */
+    public List<AppointmentResponse> autoAllocate(LocalDate date) {
+        User currentUser = getCurrentUser();
+        if (!hasPermission(currentUser, Permission.ALLOCATE_APPOINTMENTS)) {
+            throw new RuntimeException("Only Super Admin can allocate appointments");
+        }
+
+        List<Appointment> appointments = appointmentRepository
+                .findByDateAndStatusOrderByTimeAscIdAsc(date, Appointment.AppointmentStatus.APPROVE);
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> employees = userRepository.findByRole_NameAndEnabledTrue(Role.RoleName.EMPLOYEE);
+        if (employees.isEmpty()) {
+            throw new RuntimeException("No enabled employees available for allocation");
+        }
+
+        // Current load: the same IN_PROGRESS counts shown in the employee task stats
+        Map<Long, Long> inProgress = employeeWorkloadService.totalsByEmployee(
+                EnumSet.of(Appointment.AppointmentStatus.IN_PROGRESS));
+        PriorityQueue<EmployeeLoad> heap = new PriorityQueue<>(employees.size());
+        for (User employee : employees) {
+            heap.add(new EmployeeLoad(employee, inProgress.getOrDefault(employee.getId(), 0L)));
+        }
+
+        List<AppointmentSnapshot> before = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            before.add(AppointmentSnapshot.of(appointment));
+            EmployeeLoad least = heap.poll();
+            appointment.setEmployee(least.employee());
+            appointment.setStatus(Appointment.AppointmentStatus.IN_PROGRESS);
+            heap.add(least.plusOne());
+        }
+
+        List<Appointment> saved = appointmentRepository.saveAll(appointments);
+        List<AppointmentResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Appointment appointment = saved.get(i);
+            eventPublisher.publishEvent(AppointmentChangedEvent.updated(before.get(i), AppointmentSnapshot.of(appointment)));
+            emailService.sendTaskAllocationToCustomer(appointment);
+            emailService.sendTaskAllocationToEmployee(appointment);
+            responses.add(AppointmentResponse.fromEntity(appointment));
+        }
+        return responses;
+    }
+
+    private record EmployeeLoad(User employee, long tasks) implements Comparable<EmployeeLoad> {
+
+        private static final Comparator<EmployeeLoad> ORDER = Comparator
+                .comparingLong(EmployeeLoad::tasks)
+                .thenComparing(load -> load.employee().getId());
+
+        EmployeeLoad plusOne() {
+            return new EmployeeLoad(employee, tasks + 1);
+        }
+
+        @Override
+        public int compareTo(EmployeeLoad other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
     /**
      * Assign employee to appointment
      */
@@ -347,20 +549,24 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
         User currentUser = getCurrentUser();
 
         // Only admins/employees can assign employees
-        if (!hasAdminOrEmployeeRole(currentUser)) {
+        if (!hasPermission(currentUser, Permission.MANAGE_APPOINTMENTS)) {
             throw new RuntimeException("You don't have permission to assign employees");
         }
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findWithPartiesById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
         User employee = userRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
+        AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
         appointment.setEmployee(employee);
         appointment.setStatus(Appointment.AppointmentStatus.APPROVE);
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        // A rejected booking coming back needs a bay again
+        reassignBayIfMoved(appointment, before, appointment.getService());
+        Appointment updatedAppointment = saveReservingSlot(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(updatedAppointment)));
 
         // Send approval email to customer
         emailService.sendAppointmentApproval(updatedAppointment);
@@ -371,30 +577,30 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
     // Helper methods
 
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return currentUserProvider.getCurrentUser();
     }
 
     /**
      * Change appointment status with email notification
      */
     public AppointmentResponse changeAppointmentStatus(Long id, Appointment.AppointmentStatus newStatus, String notes) {
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = appointmentRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
 
         User currentUser = getCurrentUser();
 
         // Only admins and employees can change status
-        if (!hasAdminOrEmployeeRole(currentUser)) {
+        if (!hasPermission(currentUser, Permission.MANAGE_APPOINTMENTS)) {
             throw new RuntimeException("You don't have permission to change appointment status");
         }
 
+        AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
         Appointment.AppointmentStatus oldStatus = appointment.getStatus();
         appointment.setStatus(newStatus);
 
-        Appointment updatedAppointment = appointmentRepository.save(appointment);
+        reassignBayIfMoved(appointment, before, appointment.getService());
+        Appointment updatedAppointment = saveReservingSlot(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(updatedAppointment)));
 
         // Send email notification about status change
         String statusMessage = buildStatusMessage(oldStatus, newStatus, notes);
@@ -403,6 +609,81 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
         return AppointmentResponse.fromEntity(updatedAppointment);
     }
 
+    /**
+     * Change the status of many appointments in one transaction.
+     * Targets are loaded with one IN query and written back as batched updates;
+     * an appointment that cannot take the new status is reported and left unchanged.
+     * Notifications go to the email service as a single batch.
+     */
+    public BatchStatusChangeResponse changeAppointmentStatuses(List<Long> ids, Appointment.AppointmentStatus newStatus,
+            String notes) {
+        User currentUser = getCurrentUser();
+        if (!hasPermission(currentUser, Permission.MANAGE_APPOINTMENTS)) {
+            throw new RuntimeException("You don't have permission to change appointment status");
+        }
+
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Appointment> byId = appointmentRepository.findAllWithPartiesByIdIn(uniqueIds).stream()
+                .collect(HashMap::new, (map, appointment) -> map.put(appointment.getId(), appointment), HashMap::putAll);
+
+        // Rejected bookings coming back need a bay again. Bays are planned against the affected days
+        // before any appointment changes, so nothing is flushed half-way and one conflict cannot fail the batch
+        List<Appointment> revived = byId.values().stream()
+                .filter(appointment -> isRevivedBy(appointment, newStatus))
+                .toList();
+        SlotAvailabilityIndex.BayPlan bayPlan = slotAvailabilityIndex.planBays(
+                revived.stream().map(Appointment::getDate).collect(Collectors.toSet()),
+                revived.stream().map(Appointment::getId).toList());
+
+        List<BatchStatusChangeResponse.Result> results = new ArrayList<>(uniqueIds.size());
+        List<Appointment> changed = new ArrayList<>();
+        List<AppointmentSnapshot> before = new ArrayList<>();
+        List<EmailService.StatusChangeNotice> notices = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Appointment appointment = byId.get(id);
+            if (appointment == null) {
+                results.add(BatchStatusChangeResponse.Result.failure(id, "Appointment not found with id: " + id));
+                continue;
+            }
+            AppointmentSnapshot snapshot = AppointmentSnapshot.of(appointment);
+            Appointment.AppointmentStatus oldStatus = appointment.getStatus();
+            if (isRevivedBy(appointment, newStatus)) {
+                int durationMinutes = slotProperties.durationFor(appointment.getService());
+                int bay;
+                try {
+                    bay = bayPlan.claim(appointment.getDate(), appointment.getTime(), durationMinutes);
+                } catch (RuntimeException e) {
+                    results.add(BatchStatusChangeResponse.Result.failure(id, e.getMessage()));
+                    continue;
+                }
+                if (bay < 0) {
+                    results.add(BatchStatusChangeResponse.Result.failure(id, SLOT_TAKEN_MESSAGE));
+                    continue;
+                }
+                appointment.setBay(bay);
+                appointment.setDurationMinutes(durationMinutes);
+            }
+            appointment.setStatus(newStatus);
+            changed.add(appointment);
+            before.add(snapshot);
+            notices.add(new EmailService.StatusChangeNotice(appointment, buildStatusMessage(oldStatus, newStatus, notes)));
+            results.add(BatchStatusChangeResponse.Result.success(AppointmentResponse.fromEntity(appointment)));
+        }
+
+        if (!changed.isEmpty()) {
+            reservingSlot(() -> {
+                appointmentRepository.saveAll(changed);
+                appointmentRepository.flush();
+                return changed;
+            });
+            for (int i = 0; i < changed.size(); i++) {
+                eventPublisher.publishEvent(AppointmentChangedEvent.updated(before.get(i), AppointmentSnapshot.of(changed.get(i))));
+            }
+            emailService.sendStatusChangeEmails(notices);
+        }
+        return BatchStatusChangeResponse.of(results);
+    }
+
     private String buildStatusMessage(Appointment.AppointmentStatus oldStatus, Appointment.AppointmentStatus newStatus,
             String notes) {
         String baseMessage = switch (newStatus) {
@@ -420,27 +701,76 @@ public AppointmentResponse allocateToEmployee(Long appointmentId, Long employeeI
         return baseMessage;
     }
 
-    private boolean isTimeSlotTaken(LocalDate date, LocalTime time, Long appointmentId) {
-        Optional<Appointment> existingAppointment = appointmentRepository
-                .findByDateAndTimeAndStatusNot(date, time);
-        return existingAppointment.isPresent() &&
-                (appointmentId == null || !existingAppointment.get().getId().equals(appointmentId));
+    private static boolean isRevivedBy(Appointment appointment, Appointment.AppointmentStatus newStatus) {
+        return appointment.getStatus() == Appointment.AppointmentStatus.REJECT
+                && newStatus != Appointment.AppointmentStatus.REJECT;
     }
 
-    private boolean isOwnerOrHasPermission(Appointment appointment, User user) {
-        return (appointment.getCustomer() != null && appointment.getCustomer().getId().equals(user.getId())) ||
-                hasAdminOrEmployeeRole(user);
+    /**
+     * Pick a bay again when an appointment moves, changes service or is revived from REJECT.
+     * Checked against the database with the appointment itself left out.
+     */
+    private void reassignBayIfMoved(Appointment appointment, AppointmentSnapshot before, String serviceBefore) {
+        if (appointment.getStatus() == Appointment.AppointmentStatus.REJECT) {
+            return;
+        }
+        boolean moved = !Objects.equals(before.date(), appointment.getDate())
+                || !Objects.equals(before.time(), appointment.getTime())
+                || !Objects.equals(serviceBefore, appointment.getService())
+                || before.status() == Appointment.AppointmentStatus.REJECT;
+        if (!moved) {
+            return;
+        }
+        int durationMinutes = slotProperties.durationFor(appointment.getService());
+        int bay = slotAvailabilityIndex.findFreeBay(
+                appointment.getDate(), appointment.getTime(), durationMinutes, appointment.getId());
+        if (bay < 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN_MESSAGE);
+        }
+        appointment.setBay(bay);
+        appointment.setDurationMinutes(durationMinutes);
+    }
+
+    /**
+     * Save and flush so a bay already held by another non-rejected appointment
+     * surfaces here as a 409 instead of a generic error at commit
+     */
+    private Appointment saveReservingSlot(Appointment appointment) {
+        return reservingSlot(() -> appointmentRepository.saveAndFlush(appointment));
     }
 
-    private boolean hasAdminOrEmployeeRole(User user) {
-        String roleName = user.getRole().getName().name();
-        return "SUPER_ADMIN".equals(roleName) ||
-                "ADMIN".equals(roleName) ||
-                "EMPLOYEE".equals(roleName);
+    private <T> T reservingSlot(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isBookingConflict(e)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, SLOT_TAKEN_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isBookingConflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (constraint == null) {
+            constraint = e.getMostSpecificCause().getMessage();
+        }
+        if (constraint == null) {
+            return false;
+        }
+        String name = constraint.toLowerCase(Locale.ROOT);
+        return name.contains(SchemaIndexInitializer.ACTIVE_BAY_SLOT_INDEX)
+                || name.contains(SchemaIndexInitializer.BAY_OVERLAP_CONSTRAINT);
+    }
+
+    private boolean isOwnerOrHasPermission(Appointment appointment, User user) {
+        return (appointment.getCustomer() != null && appointment.getCustomer().getId().equals(user.getId())) ||
+                hasPermission(user, Permission.MANAGE_APPOINTMENTS);
     }
 
-    private boolean hasAdminRole(User user) {
-        String roleName = user.getRole().getName().name();
-        return "SUPER_ADMIN".equals(roleName) || "ADMIN".equals(roleName);
+    private boolean hasPermission(User user, Permission permission) {
+        return permission.isGrantedTo(user.getRole().getName());
     }
 }
\ No newline at end of file
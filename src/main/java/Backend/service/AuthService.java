@@ -1,17 +1,21 @@
 package Backend.service;
 
 import Backend.dto.Request.LoginRequest;
+import Backend.dto.Request.RefreshTokenRequest;
 import Backend.dto.Request.RegisterRequest;
 import Backend.dto.Response.AuthResponse;
 import Backend.dto.UserPrincipal;
 import Backend.entity.Role;
 import Backend.entity.Role.RoleName;
 import Backend.entity.User;
+import Backend.event.UserAccountChangedEvent;
 import Backend.repository.RoleRepository;
 import Backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +29,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -45,36 +51,43 @@ public class AuthService {
         user.setRole(customerRole);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
 
-        UserPrincipal userPrincipal = new UserPrincipal(user);
-        String JWT = jwtService.generateToken(userPrincipal);
-
-        return new AuthResponse(
-                user.getId(),
-                user.getFullName(),
-                user.getEmail(),
-                user.getRole().getName().name(),
-                JWT
-        );
+        return authResponse(user);
     }
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        // The provider already loaded the user (with role) to check the password
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
 
-        User user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = ((UserPrincipal) authentication.getPrincipal()).getUser();
+        return authResponse(user);
+    }
+
+    /**
+     * Trade a refresh token for a new access token and a new refresh token.
+     * No password hash is involved; the presented refresh token stops working.
+     * Revoking it and issuing the successor commit together, so a failure leaves the old token valid.
+     */
+    @Transactional
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        User user = refreshTokenService.consume(request.refreshToken());
+        return authResponse(user);
+    }
 
-        UserPrincipal userPrincipal = new UserPrincipal(user);
-        String JWT = jwtService.generateToken(userPrincipal);
+    private AuthResponse authResponse(User user) {
+        String JWT = jwtService.generateToken(new UserPrincipal(user));
+        String refreshToken = refreshTokenService.issue(user);
 
         return new AuthResponse(
                 user.getId(),
                 user.getFullName(),
                 user.getEmail(),
                 user.getRole().getName().name(),
-                JWT
+                JWT,
+                refreshToken
         );
     }
 }
\ No newline at end of file
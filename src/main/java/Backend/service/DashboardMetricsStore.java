@@ -0,0 +1,206 @@
+package Backend.service;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
+import Backend.repository.AppointmentDailyRollupRepository;
+import Backend.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory dashboard counters kept up to date from appointment events.
+ * Holds per-status counts, per-day counts and active task counts per employee.
+ * Rebuilt from the database at startup and reconciled on a fixed delay to repair
+ * any drift (e.g. writes from another node).
+ * <p>
+ * Events are deltas, so one that lands while a rebuild is reading would be lost (committed after
+ * the read) or counted twice (committed before it) if the rebuilt counters were swapped in.
+ * Every event bumps a version instead, and a rebuild only replaces the counters when the version
+ * is unchanged since it started; otherwise it retries, and after {@link #REBUILD_ATTEMPTS} busy
+ * attempts the incrementally maintained counters stay until the next reconcile.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetricsStore {
+
+    /** Order of the commit listener; listeners that read these counters must run after it */
+    public static final int LISTENER_ORDER = 0;
+
+    /** Statuses counted as an employee's active workload */
+    public static final Set<AppointmentStatus> ACTIVE_TASK_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(AppointmentStatus.APPROVE, AppointmentStatus.IN_PROGRESS));
+
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentDailyRollupRepository rollupRepository;
+
+    /** Held shared while an event is applied and exclusively while rebuilt counters are swapped in */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicLong eventVersion = new AtomicLong();
+    private volatile Counters counters;
+
+    /**
+     * Whether the counters have been loaded at least once
+     */
+    public boolean isReady() {
+        return counters != null;
+    }
+
+    public Map<AppointmentStatus, Long> getStatusCounts() {
+        Map<AppointmentStatus, Long> statusCounts = new EnumMap<>(AppointmentStatus.class);
+        requireCounters().byStatus.forEach((status, count) -> {
+            if (count > 0) {
+                statusCounts.put(status, count);
+            }
+        });
+        return statusCounts;
+    }
+
+    public long getCountForDate(LocalDate date) {
+        return requireCounters().byDate.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Employees with the most active tasks, busiest first: employeeId -> count
+     */
+    public LinkedHashMap<Long, Long> getTopActiveEmployees(int limit) {
+        return requireCounters().activeByEmployee.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Ordered before DashboardSnapshotCache marks its snapshot stale, so a recompute
+     * triggered by that never reads counters without this change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(LISTENER_ORDER)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            eventVersion.incrementAndGet();
+            Counters current = counters;
+            if (current == null) {
+                // Not loaded yet - the initial rebuild will pick this change up
+                return;
+            }
+            if (event.previous() != null) {
+                current.apply(event.previous(), -1);
+            }
+            if (event.current() != null) {
+                current.apply(event.current(), 1);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${dashboard.metrics.reconcile-interval-ms:300000}",
+            fixedDelayString = "${dashboard.metrics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Reload all counters and swap them in atomically, unless events arrived meanwhile.
+     * Status and day counts come from the daily rollup, workload from appointments.
+     */
+    public void rebuild() {
+        try {
+            for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+                long version = eventVersion.get();
+                Counters rebuilt = load();
+                if (swapIfUnchanged(rebuilt, version, attempt == REBUILD_ATTEMPTS)) {
+                    log.debug("Dashboard metrics rebuilt: {} statuses, {} days, {} employees",
+                            rebuilt.byStatus.size(), rebuilt.byDate.size(), rebuilt.activeByEmployee.size());
+                    return;
+                }
+            }
+            log.debug("Dashboard metrics kept: appointments changed during every rebuild attempt");
+        } catch (Exception e) {
+            log.error("Failed to rebuild dashboard metrics: {}", e.getMessage());
+        }
+    }
+
+    private Counters load() {
+        Counters loaded = new Counters();
+        for (Object[] row : rollupRepository.sumGroupedByStatus()) {
+            loaded.byStatus.put((AppointmentStatus) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : rollupRepository.sumGroupedByDate()) {
+            loaded.byDate.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : appointmentRepository.countTasksGroupedByEmployeeId(ACTIVE_TASK_STATUSES)) {
+            loaded.activeByEmployee.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return loaded;
+    }
+
+    /**
+     * Swap in counters loaded at the given event version. Stale counters are only taken on the
+     * last attempt of the first load, when there is nothing else to serve.
+     */
+    private boolean swapIfUnchanged(Counters rebuilt, long version, boolean lastAttempt) {
+        swapLock.writeLock().lock();
+        try {
+            boolean unchanged = eventVersion.get() == version;
+            if (unchanged || (lastAttempt && counters == null)) {
+                counters = rebuilt;
+                return true;
+            }
+            return false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private Counters requireCounters() {
+        Counters current = counters;
+        if (current == null) {
+            throw new IllegalStateException("Dashboard metrics have not been loaded yet");
+        }
+        return current;
+    }
+
+    private static final class Counters {
+        private final Map<AppointmentStatus, Long> byStatus = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Long> byDate = new ConcurrentHashMap<>();
+        private final Map<Long, Long> activeByEmployee = new ConcurrentHashMap<>();
+
+        private void apply(AppointmentSnapshot snapshot, long delta) {
+            if (snapshot.status() != null) {
+                byStatus.merge(snapshot.status(), delta, Long::sum);
+            }
+            if (snapshot.date() != null) {
+                byDate.merge(snapshot.date(), delta, Long::sum);
+            }
+            if (snapshot.employeeId() != null && ACTIVE_TASK_STATUSES.contains(snapshot.status())) {
+                activeByEmployee.merge(snapshot.employeeId(), delta, Long::sum);
+            }
+        }
+    }
+}
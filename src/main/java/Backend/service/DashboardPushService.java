@@ -0,0 +1,70 @@
+package Backend.service;
+
+import Backend.dto.Response.DashboardUpdate;
+import Backend.entity.Appointment.AppointmentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Pushes coalesced dashboard deltas to /topic/dashboard.
+ * Counters are compared once per interval, so any number of appointment writes
+ * in that window produce at most one message shared by all subscribed clients.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardPushService {
+
+    public static final String DASHBOARD_TOPIC = "/topic/dashboard";
+
+    private final DashboardMetricsStore metricsStore;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private Map<AppointmentStatus, Long> lastStatusCounts;
+    private long lastTodayAppointments;
+
+    @Scheduled(fixedDelayString = "${dashboard.push.interval-ms:2000}")
+    public synchronized void pushChanges() {
+        if (!metricsStore.isReady()) {
+            return;
+        }
+
+        Map<AppointmentStatus, Long> statusCounts = metricsStore.getStatusCounts();
+        long todayAppointments = metricsStore.getCountForDate(LocalDate.now());
+
+        if (lastStatusCounts == null) {
+            // First run only records the baseline; clients load the full stats over REST
+            lastStatusCounts = statusCounts;
+            lastTodayAppointments = todayAppointments;
+            return;
+        }
+
+        Map<String, Long> changed = new LinkedHashMap<>();
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            long previous = lastStatusCounts.getOrDefault(status, 0L);
+            long current = statusCounts.getOrDefault(status, 0L);
+            if (previous != current) {
+                changed.put(status.name(), current);
+            }
+        }
+
+        if (changed.isEmpty() && todayAppointments == lastTodayAppointments) {
+            return;
+        }
+
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        messagingTemplate.convertAndSend(DASHBOARD_TOPIC,
+                new DashboardUpdate(changed, total, todayAppointments, LocalDateTime.now()));
+        log.debug("Pushed dashboard update: {}", changed);
+
+        lastStatusCounts = statusCounts;
+        lastTodayAppointments = todayAppointments;
+    }
+}
@@ -1,49 +1,56 @@
 package Backend.service;
 
 import Backend.dto.Response.*;
-import Backend.entity.Appointment;
 import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.User;
 import Backend.repository.AppointmentRepository;
+import Backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DashboardService {
-    
+
+    private static final int TREND_MONTHS = 12;
+
+    /** Longest range the custom trend endpoint answers in one call */
+    public static final int MAX_TREND_RANGE_MONTHS = 120;
+    private static final int TOP_EMPLOYEES = 4;
+    private static final int UPCOMING_LIMIT = 5;
+
     private final AppointmentRepository appointmentRepository;
-    
+    private final UserRepository userRepository;
+    private final DashboardMetricsStore metricsStore;
+    private final AppointmentRollupService rollupService;
+
     public AdminDashboardStatsResponse getDashboardStats() {
-        // Get all appointments from the Appointment table
-        List<Appointment> allAppointments = appointmentRepository.findAll();
-        
-        // Calculate statistics from appointments
-        Long totalServices = (long) allAppointments.size();
-        Long completedServices = allAppointments.stream()
-            .filter(a -> a.getStatus() == AppointmentStatus.COMPLETED)
-            .count();
-        Long inProgressServices = allAppointments.stream()
-            .filter(a -> a.getStatus() == AppointmentStatus.IN_PROGRESS)
-            .count();
-        Long pendingServices = allAppointments.stream()
-            .filter(a -> a.getStatus() == AppointmentStatus.PENDING)
-            .count();
-        Long cancelledServices = allAppointments.stream()
-            .filter(a -> a.getStatus() == AppointmentStatus.REJECT)
-            .count();
-        Long todayAppointments = appointmentRepository.countByDate(LocalDate.now());
-        
-        List<ServiceStatusCount> servicesByStatus = getServicesByStatus(allAppointments);
-        List<MonthlyServiceTrend> monthlyTrend = getMonthlyTrend(allAppointments);
-        List<EmployeeWorkload> employeeWorkload = getEmployeeWorkload(allAppointments);
+        // Served from the in-memory counters once loaded, aggregate queries until then
+        Map<AppointmentStatus, Long> statusCounts = getStatusCounts();
+
+        Long totalServices = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        Long completedServices = statusCounts.getOrDefault(AppointmentStatus.COMPLETED, 0L);
+        Long inProgressServices = statusCounts.getOrDefault(AppointmentStatus.IN_PROGRESS, 0L);
+        Long pendingServices = statusCounts.getOrDefault(AppointmentStatus.PENDING, 0L);
+        Long cancelledServices = statusCounts.getOrDefault(AppointmentStatus.REJECT, 0L);
+        Long todayAppointments = metricsStore.isReady()
+            ? metricsStore.getCountForDate(LocalDate.now())
+            : appointmentRepository.countByDate(LocalDate.now());
+
+        List<ServiceStatusCount> servicesByStatus = getServicesByStatus(statusCounts);
+        List<MonthlyServiceTrend> monthlyTrend = getMonthlyTrend();
+        List<EmployeeWorkload> employeeWorkload = getEmployeeWorkload();
         List<UpcomingAppointment> upcomingAppointments = getUpcomingAppointments();
-        
+
         return new AdminDashboardStatsResponse(
             totalServices,
             completedServices,
@@ -57,15 +64,20 @@ public class DashboardService {
             upcomingAppointments
         );
     }
-    
-    private List<ServiceStatusCount> getServicesByStatus(List<Appointment> appointments) {
-        // Group appointments by status and count them
-        Map<AppointmentStatus, Long> statusCounts = appointments.stream()
-            .collect(Collectors.groupingBy(
-                Appointment::getStatus,
-                Collectors.counting()
-            ));
-        
+
+    private Map<AppointmentStatus, Long> getStatusCounts() {
+        if (metricsStore.isReady()) {
+            return metricsStore.getStatusCounts();
+        }
+
+        Map<AppointmentStatus, Long> statusCounts = new EnumMap<>(AppointmentStatus.class);
+        for (Object[] row : appointmentRepository.countGroupedByStatus()) {
+            statusCounts.put((AppointmentStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return statusCounts;
+    }
+
+    private List<ServiceStatusCount> getServicesByStatus(Map<AppointmentStatus, Long> statusCounts) {
         return statusCounts.entrySet().stream()
             .map(entry -> new ServiceStatusCount(
                 entry.getKey().toString(),
@@ -73,66 +85,53 @@ public class DashboardService {
             ))
             .collect(Collectors.toList());
     }
-    
-    private List<MonthlyServiceTrend> getMonthlyTrend(List<Appointment> appointments) {
-        // Get current date
-        LocalDate now = LocalDate.now();
-        
-        // Get last 12 months trend
-        List<MonthlyServiceTrend> trends = new ArrayList<>();
-        
-        for (int i = 11; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(now.minusMonths(i));
-            LocalDate startOfMonth = yearMonth.atDay(1);
-            LocalDate endOfMonth = yearMonth.atEndOfMonth();
-            
-            long count = appointments.stream()
-                .filter(a -> !a.getDate().isBefore(startOfMonth) && !a.getDate().isAfter(endOfMonth))
-                .count();
-            
-            String monthName = yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-            trends.add(new MonthlyServiceTrend(monthName, (int) count));
+
+    private List<MonthlyServiceTrend> getMonthlyTrend() {
+        // Last 12 months, oldest first
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(TREND_MONTHS - 1);
+        return rollupService.getMonthlyTrend(firstMonth, currentMonth, false);
+    }
+
+    /**
+     * Monthly trend for a custom date range, labelled with month and year
+     */
+    public List<MonthlyServiceTrend> getMonthlyTrend(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("'endDate' must not be before 'startDate'");
+        }
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        if (ChronoUnit.MONTHS.between(firstMonth, lastMonth) >= MAX_TREND_RANGE_MONTHS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_TREND_RANGE_MONTHS + " months");
         }
-        
-        return trends;
+        return rollupService.getMonthlyTrend(firstMonth, lastMonth, true);
     }
-    
-    private List<EmployeeWorkload> getEmployeeWorkload(List<Appointment> appointments) {
-        // Group appointments by employee and count active tasks
-        Map<String, Long> employeeCounts = appointments.stream()
-            .filter(a -> a.getEmployee() != null)
-            .filter(a -> a.getStatus() == AppointmentStatus.IN_PROGRESS || 
-                        a.getStatus() == AppointmentStatus.APPROVE)
-            .collect(Collectors.groupingBy(
-                a -> a.getEmployee().getFullName(),
-                Collectors.counting()
-            ));
-        
-        // Sort by count descending and take top 4 employees
-        return employeeCounts.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .limit(4)
-            .map(entry -> new EmployeeWorkload(entry.getKey(), entry.getValue()))
+
+    private List<EmployeeWorkload> getEmployeeWorkload() {
+        // Active tasks per employee, top 4 by count
+        if (metricsStore.isReady()) {
+            Map<Long, Long> topEmployees = metricsStore.getTopActiveEmployees(TOP_EMPLOYEES);
+            Map<Long, String> names = userRepository.findAllById(topEmployees.keySet()).stream()
+                .collect(HashMap::new, (map, user) -> map.put(user.getId(), user.getFullName()), HashMap::putAll);
+            return topEmployees.entrySet().stream()
+                .map(entry -> new EmployeeWorkload(names.get(entry.getKey()), entry.getValue()))
+                .collect(Collectors.toList());
+        }
+
+        return appointmentRepository.countTasksGroupedByEmployee(
+                DashboardMetricsStore.ACTIVE_TASK_STATUSES,
+                PageRequest.of(0, TOP_EMPLOYEES))
+            .stream()
+            .map(row -> new EmployeeWorkload((String) row[0], ((Number) row[1]).longValue()))
             .collect(Collectors.toList());
     }
-    
+
     private List<UpcomingAppointment> getUpcomingAppointments() {
-        LocalDate today = LocalDate.now();
-        
-        // Get upcoming appointments from the Appointment table
-        return appointmentRepository.findAll().stream()
-            .filter(a -> !a.getDate().isBefore(today))
-            .filter(a -> a.getStatus() != AppointmentStatus.REJECT && 
-                        a.getStatus() != AppointmentStatus.COMPLETED)
-            .sorted(Comparator.comparing(Appointment::getDate)
-                              .thenComparing(Appointment::getTime))
-            .limit(5)
-            .map(appointment -> new UpcomingAppointment(
-                appointment.getCustomer() != null ? appointment.getCustomer().getFullName() : "Unknown",
-                appointment.getVehicleType(),
-                appointment.getService(),
-                appointment.getDate()
-            ))
-            .collect(Collectors.toList());
+        // Next 5 open appointments from today onwards
+        return appointmentRepository.findUpcomingSummaries(
+                LocalDate.now(),
+                EnumSet.of(AppointmentStatus.REJECT, AppointmentStatus.COMPLETED),
+                PageRequest.of(0, UPCOMING_LIMIT));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package Backend.service;
+
+import Backend.dto.Response.AdminDashboardStatsResponse;
+import Backend.event.AppointmentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches the dashboard stats as an immutable snapshot.
+ * Appointment writes only mark the snapshot stale: readers keep getting the previous
+ * snapshot while a single background recompute runs (stale-while-revalidate).
+ * Only the very first request, with nothing cached yet, waits for the computation,
+ * and concurrent callers share that one computation.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotCache {
+
+    private final DashboardService dashboardService;
+    private final long maxAgeMillis;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer recomputeTimer;
+
+    public DashboardSnapshotCache(DashboardService dashboardService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${dashboard.snapshot.max-age-ms:60000}") long maxAgeMillis) {
+        this.dashboardService = dashboardService;
+        this.maxAgeMillis = maxAgeMillis;
+        this.hits = Counter.builder("dashboard.snapshot.requests").tag("result", "hit")
+                .description("Dashboard stats served from a fresh snapshot").register(meterRegistry);
+        this.staleHits = Counter.builder("dashboard.snapshot.requests").tag("result", "stale")
+                .description("Dashboard stats served from a stale snapshot while it is recomputed").register(meterRegistry);
+        this.misses = Counter.builder("dashboard.snapshot.requests").tag("result", "miss")
+                .description("Dashboard stats requests that had to wait for a computation").register(meterRegistry);
+        this.recomputeTimer = Timer.builder("dashboard.snapshot.recompute")
+                .description("Time taken to recompute the dashboard stats snapshot").register(meterRegistry);
+    }
+
+    public AdminDashboardStatsResponse get() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return refresh().join().stats();
+        }
+        if (current.version() != version.get() || current.isOlderThan(maxAgeMillis)) {
+            staleHits.increment();
+            if (inFlight.get() == null) {
+                refreshExecutor.execute(this::refresh);
+            }
+        } else {
+            hits.increment();
+        }
+        return current.stats();
+    }
+
+    /**
+     * Mark the snapshot stale once an appointment write has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(DashboardMetricsStore.LISTENER_ORDER + 1)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Start a recompute, or join the one already running
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+        try {
+            long startVersion = version.get();
+            AdminDashboardStatsResponse stats = recomputeTimer.record(dashboardService::getDashboardStats);
+            Snapshot computed = new Snapshot(stats, startVersion, System.currentTimeMillis());
+            snapshot.set(computed);
+            mine.complete(computed);
+        } catch (RuntimeException e) {
+            log.error("Failed to recompute dashboard snapshot: {}", e.getMessage());
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return mine;
+    }
+
+    private record Snapshot(AdminDashboardStatsResponse stats, long version, long computedAt) {
+
+        boolean isOlderThan(long maxAgeMillis) {
+            return System.currentTimeMillis() - computedAt > maxAgeMillis;
+        }
+    }
+}
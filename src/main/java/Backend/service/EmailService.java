@@ -11,7 +11,10 @@ import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.io.UnsupportedEncodingException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -516,26 +519,13 @@ public class EmailService {
     @Async
     public void sendStatusChangeEmail(Appointment appointment, String statusMessage) {
         try {
-            String recipientEmail = getRecipientEmail(appointment);
-            String recipientName = getRecipientName(appointment);
-            
-            if (recipientEmail == null || recipientEmail.trim().isEmpty()) {
-                log.warn("Cannot send status change email - no email address found for appointment {}", appointment.getId());
+            MimeMessage message = createStatusChangeMessage(appointment, statusMessage);
+            if (message == null) {
                 return;
             }
 
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(recipientEmail);
-            helper.setSubject("Appointment Status Update - " + appointment.getStatus());
-
-            String emailContent = buildStatusChangeEmail(appointment, recipientName, statusMessage);
-            helper.setText(emailContent, true);
-
             mailSender.send(message);
-            log.info("Status change email sent successfully to: {} for status: {}", recipientEmail, appointment.getStatus());
+            log.info("Status change email sent successfully to: {} for status: {}", getRecipientEmail(appointment), appointment.getStatus());
 
         } catch (MessagingException e) {
             log.error("Failed to send status change email for appointment {}", appointment.getId(), e);
@@ -544,6 +534,62 @@ public class EmailService {
         }
     }
 
+    /**
+     * Status change emails for a batch update, sent as one task over a single SMTP connection
+     */
+    @Async
+    public void sendStatusChangeEmails(List<StatusChangeNotice> notices) {
+        List<MimeMessage> messages = new ArrayList<>(notices.size());
+        for (StatusChangeNotice notice : notices) {
+            try {
+                MimeMessage message = createStatusChangeMessage(notice.appointment(), notice.statusMessage());
+                if (message != null) {
+                    messages.add(message);
+                }
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                log.error("Failed to build status change email for appointment {}", notice.appointment().getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+            log.info("Sent {} status change emails", messages.size());
+        } catch (Exception e) {
+            log.error("Failed to send batch of {} status change emails", messages.size(), e);
+        }
+    }
+
+    /**
+     * One appointment's status change email with the message shown in it
+     */
+    public record StatusChangeNotice(Appointment appointment, String statusMessage) {
+    }
+
+    private MimeMessage createStatusChangeMessage(Appointment appointment, String statusMessage)
+            throws MessagingException, UnsupportedEncodingException {
+        String recipientEmail = getRecipientEmail(appointment);
+        String recipientName = getRecipientName(appointment);
+
+        if (recipientEmail == null || recipientEmail.trim().isEmpty()) {
+            log.warn("Cannot send status change email - no email address found for appointment {}", appointment.getId());
+            return null;
+        }
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(recipientEmail);
+        helper.setSubject("Appointment Status Update - " + appointment.getStatus());
+
+        String emailContent = buildStatusChangeEmail(appointment, recipientName, statusMessage);
+        helper.setText(emailContent, true);
+        return message;
+    }
+
     private String buildStatusChangeEmail(Appointment appointment, String customerName, String statusMessage) {
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
         DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
@@ -1,12 +1,16 @@
 package Backend.service;
 
 import Backend.entity.Appointment;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
 import Backend.repository.AppointmentRepository;
 import lombok.RequiredArgsConstructor;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
@@ -15,6 +19,7 @@ import org.springframework.web.server.ResponseStatusException;
 public class EmployeeService {
 
     private final AppointmentRepository appointmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Appointment> getAppointmentsByEmployeeId(Long employeeId) {
         List<Appointment> appointments = appointmentRepository.findByEmployeeId(employeeId);
@@ -24,10 +29,12 @@ public class EmployeeService {
         return appointments;
     }
 
+    @Transactional
     public Appointment updateAppointmentProgress(Long appointmentId, Integer progress) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findWithPartiesAndRolesById(appointmentId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Appointment not found"));
         
+        AppointmentSnapshot before = AppointmentSnapshot.of(appointment);
         appointment.setProgress(progress);
         
         // Update status to COMPLETED when progress reaches 100
@@ -35,7 +42,10 @@ public class EmployeeService {
             appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
         }
         
-        return appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(AppointmentChangedEvent.updated(before, AppointmentSnapshot.of(savedAppointment)));
+
+        return savedAppointment;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package Backend.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appointment counts per employee and status, read with one grouped query.
+ * Backs the employee list on the allocation screen and the auto-allocation load balancing.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EmployeeWorkloadService {
+
+    /** Statuses reported in an employee's task stats */
+    private static final Set<AppointmentStatus> STATS_STATUSES = EnumSet.of(
+            AppointmentStatus.PENDING, AppointmentStatus.APPROVE,
+            AppointmentStatus.IN_PROGRESS, AppointmentStatus.COMPLETED);
+
+    private final AppointmentRepository appointmentRepository;
+
+    /**
+     * Counts for the given statuses: employeeId -> status -> count (zero counts are absent)
+     */
+    public Map<Long, Map<AppointmentStatus, Long>> countsByEmployee(Collection<AppointmentStatus> statuses) {
+        Map<Long, Map<AppointmentStatus, Long>> counts = new HashMap<>();
+        for (Object[] row : appointmentRepository.countGroupedByEmployeeIdAndStatus(statuses)) {
+            counts.computeIfAbsent((Long) row[0], id -> new EnumMap<>(AppointmentStatus.class))
+                    .put((AppointmentStatus) row[1], ((Number) row[2]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Total tasks per employee in the given statuses: employeeId -> count
+     */
+    public Map<Long, Long> totalsByEmployee(Collection<AppointmentStatus> statuses) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (Object[] row : appointmentRepository.countTasksGroupedByEmployeeId(statuses)) {
+            totals.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return totals;
+    }
+
+    /**
+     * Task stats of every employee with appointments, keyed as the employees endpoint reports them:
+     * pending, approved, inProgress, completed and total
+     */
+    public Map<Long, Map<String, Long>> getTaskStats() {
+        Map<Long, Map<String, Long>> stats = new HashMap<>();
+        countsByEmployee(STATS_STATUSES).forEach((employeeId, counts) -> stats.put(employeeId, toTaskStats(counts)));
+        return stats;
+    }
+
+    /**
+     * Task stats of an employee without appointments
+     */
+    public Map<String, Long> emptyTaskStats() {
+        return toTaskStats(Map.of());
+    }
+
+    private static Map<String, Long> toTaskStats(Map<AppointmentStatus, Long> counts) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("pending", counts.getOrDefault(AppointmentStatus.PENDING, 0L));
+        stats.put("approved", counts.getOrDefault(AppointmentStatus.APPROVE, 0L));
+        stats.put("inProgress", counts.getOrDefault(AppointmentStatus.IN_PROGRESS, 0L));
+        stats.put("completed", counts.getOrDefault(AppointmentStatus.COMPLETED, 0L));
+        stats.put("total", stats.values().stream().mapToLong(Long::longValue).sum());
+        return stats;
+    }
+}
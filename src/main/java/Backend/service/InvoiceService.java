@@ -54,7 +54,7 @@ public class InvoiceService {
     private String companyEmail;
 
     public byte[] generateInvoice(GenerateInvoiceRequest request) throws Exception {
-        Appointment appointment = appointmentRepository.findById(request.getAppointmentId())
+        Appointment appointment = appointmentRepository.findWithPartiesById(request.getAppointmentId())
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + request.getAppointmentId()));
 
         if (appointment.getCustomer() == null) {
@@ -0,0 +1,161 @@
+package Backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Backend.entity.RefreshToken;
+import Backend.entity.User;
+import Backend.event.UserAccountChangedEvent;
+import Backend.repository.RefreshTokenRepository;
+import Backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and rotates refresh tokens.
+ * Tokens are random, returned once and stored only as a SHA-256 hash. Tokens issued by this
+ * node are also kept in memory (hash -> id, user, expiry), so a refresh usually skips the
+ * token SELECT and costs one conditional UPDATE, one user lookup and the new token's INSERT.
+ * Presenting an already rotated token revokes every token of the user (likely theft); that
+ * revocation commits on its own, even though the refresh that detected it fails.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int MAX_CACHED = 10_000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshExpirationMillis;
+    private final TransactionTemplate requiresNewTransaction;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Issued> issued = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpirationMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpirationMillis = refreshExpirationMillis;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * New refresh token for a user; the raw value is only ever returned here
+     */
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMillis)));
+        refreshToken = refreshTokenRepository.save(refreshToken);
+
+        if (issued.size() >= MAX_CACHED) {
+            issued.clear();
+        }
+        issued.put(refreshToken.getTokenHash(),
+                new Issued(refreshToken.getId(), user.getId(), refreshToken.getExpiresAt()));
+        return token;
+    }
+
+    /**
+     * Revoke a refresh token and return its (enabled) user. The caller issues the successor in the
+     * same transaction, so the old token only stops working once its successor exists.
+     *
+     * @throws RuntimeException if the token is unknown, expired, already used or the user is disabled
+     */
+    @Transactional
+    public User consume(String token) {
+        if (token == null || token.isBlank()) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        String tokenHash = hash(token);
+        Issued entry = issued.remove(tokenHash);
+        if (entry == null) {
+            RefreshToken stored = refreshTokenRepository.findByTokenHash(tokenHash)
+                    .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+            entry = new Issued(stored.getId(), stored.getUser().getId(), stored.getExpiresAt());
+            if (stored.getRevokedAt() != null) {
+                revokeAll(entry.userId());
+                throw new RuntimeException("Invalid refresh token");
+            }
+        }
+        if (entry.expiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Refresh token expired");
+        }
+        // Only one of two concurrent refreshes with the same token wins
+        if (refreshTokenRepository.revoke(entry.id(), LocalDateTime.now()) == 0) {
+            revokeAll(entry.userId());
+            throw new RuntimeException("Invalid refresh token");
+        }
+
+        User user = userRepository.findWithRoleById(entry.userId())
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        if (!user.isEnabled()) {
+            throw new RuntimeException("Account is disabled");
+        }
+        return user;
+    }
+
+    /**
+     * Disabled or deleted accounts cannot refresh with tokens issued before
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        issued.values().removeIf(entry -> entry.userId().equals(event.userId()));
+    }
+
+    @Scheduled(initialDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}",
+            fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = refreshTokenRepository.deleteExpired(now);
+        issued.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+        log.debug("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private void revokeAll(Long userId) {
+        Integer revoked = requiresNewTransaction.execute(
+                tx -> refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now()));
+        issued.values().removeIf(entry -> entry.userId().equals(userId));
+        log.warn("Refresh token reuse for user {}, revoked {} tokens", userId, revoked);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Issued(Long id, Long userId, LocalDateTime expiresAt) {
+    }
+}
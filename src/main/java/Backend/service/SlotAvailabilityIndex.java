@@ -0,0 +1,460 @@
+package Backend.service;
+
+import Backend.config.AppointmentSlotProperties;
+import Backend.dto.Response.DayAvailability;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
+import Backend.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory occupancy of the service bays, one BitSet per bay and day.
+ * Bit i of a bay is set when a non-rejected appointment occupies the i-th slot of the day
+ * (counted from the opening time); an appointment covers as many consecutive slots as its
+ * duration needs. A booking fits a bay when its whole slot interval is clear, so bays are
+ * booked independently of each other.
+ * Loaded from the database at startup, updated from appointment events and reconciled on a
+ * fixed delay like the dashboard counters. Day entries are copy-on-write: a published entry
+ * is never modified, so reads need no locking and writes only contend per day.
+ * Changes that arrive while a rebuild is loading are buffered and replayed onto the rebuilt map
+ * before it is swapped in. Each change either marks bits or reloads a day from the database,
+ * so replaying one that the load already saw is harmless.
+ * Bays claimed by transactions that have not completed yet are held in a separate map, so
+ * neither a rebuild nor a day reload can drop them.
+ */
+@Service
+@Slf4j
+public class SlotAvailabilityIndex {
+
+    /** Longest range the availability endpoint answers in one call */
+    public static final int MAX_RANGE_DAYS = 62;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentSlotProperties slotProperties;
+    private final LocalTime openingTime;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int bays;
+
+    private volatile Map<LocalDate, BitSet[]> bookedByDate;
+    private final Map<LocalDate, BitSet[]> heldByDate = new ConcurrentHashMap<>();
+
+    /** Held shared while a change is applied and exclusively while a rebuild starts or swaps */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    /** Changes to replay onto the map being rebuilt, null when no rebuild runs; guarded by swapLock */
+    private Queue<Consumer<Map<LocalDate, BitSet[]>>> changesDuringRebuild;
+
+    public SlotAvailabilityIndex(AppointmentRepository appointmentRepository,
+                                 AppointmentSlotProperties slotProperties) {
+        this.appointmentRepository = appointmentRepository;
+        this.slotProperties = slotProperties;
+        this.openingTime = slotProperties.getOpeningTime();
+        this.slotMinutes = slotProperties.getLengthMinutes();
+        this.bays = slotProperties.getBays();
+        this.slotsPerDay = slotMinutes > 0
+                ? (int) (ChronoUnit.MINUTES.between(openingTime, slotProperties.getClosingTime()) / slotMinutes)
+                : 0;
+        if (slotsPerDay <= 0 || bays <= 0) {
+            throw new IllegalStateException("Invalid appointment slot configuration");
+        }
+    }
+
+    /**
+     * Whether the bitmap has been loaded at least once
+     */
+    public boolean isReady() {
+        return bookedByDate != null;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /**
+     * Start time of a slot index
+     */
+    public LocalTime getSlotTime(int slot) {
+        return openingTime.plusMinutes((long) slot * slotMinutes);
+    }
+
+    /**
+     * Slot a time falls into, or -1 when it is outside opening hours
+     */
+    public int slotOf(LocalTime time) {
+        if (time == null || time.isBefore(openingTime)) {
+            return -1;
+        }
+        int slot = (int) (ChronoUnit.MINUTES.between(openingTime, time) / slotMinutes);
+        return slot < slotsPerDay ? slot : -1;
+    }
+
+    /**
+     * Start times per day at which a service still fits in at least one bay,
+     * for an inclusive date range. Past days and slots that have already started are never offered.
+     */
+    public List<DayAvailability> getAvailability(LocalDate from, LocalDate to, String service) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        int length = (slotProperties.durationFor(service) + slotMinutes - 1) / slotMinutes;
+
+        // Before the first load, answer from the database
+        Map<LocalDate, BitSet[]> booked = isReady() ? bookedByDate : loadBetween(from, to);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<DayAvailability> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            BitSet[] bayBookings = booked.get(date);
+            BitSet[] held = heldByDate.get(date);
+            List<LocalTime> available = new ArrayList<>();
+            if (!date.isBefore(now.toLocalDate())) {
+                for (int slot = 0; slot + length <= slotsPerDay; slot++) {
+                    LocalTime slotTime = getSlotTime(slot);
+                    boolean started = date.equals(now.toLocalDate()) && !slotTime.isAfter(now.toLocalTime());
+                    if (!started && freeBay(bayBookings, held, slot, length) > 0) {
+                        available.add(slotTime);
+                    }
+                }
+            }
+            days.add(new DayAvailability(date, available));
+        }
+        return days;
+    }
+
+    /**
+     * Claim a bay for a new booking and hold it until the surrounding transaction ends.
+     * Concurrent bookings for the same day serialize only for the in-memory update, and land
+     * in different bays when the slot has room. Before the first load the day is read from
+     * the database, and the bay is held all the same.
+     *
+     * @return the bay number (from 1), or -1 when every bay is busy for part of the interval
+     */
+    public int reserve(LocalDate date, LocalTime time, int durationMinutes) {
+        int[] range = slotRange(time, durationMinutes);
+        if (!isReady()) {
+            BitSet[] stored = loadBetween(date, date).get(date);
+            return hold(date, range, () -> stored);
+        }
+        return hold(date, range, () -> bookedByDate.get(date));
+    }
+
+    /**
+     * Find and hold a bay for an existing appointment that moves, checked against the database
+     * with the appointment itself left out
+     *
+     * @return the bay number (from 1), or -1 when every bay is busy for part of the interval
+     */
+    public int findFreeBay(LocalDate date, LocalTime time, int durationMinutes, Long appointmentId) {
+        return planBays(List.of(date), List.of(appointmentId)).claim(date, time, durationMinutes);
+    }
+
+    /**
+     * Bay occupancy of some days as stored in the database, with the given appointments left out.
+     * Claims are held like {@link #reserve} and remembered by the returned plan, so a batch can
+     * place several appointments before changing any of them.
+     */
+    public BayPlan planBays(Collection<LocalDate> dates, Collection<Long> excludedIds) {
+        Map<LocalDate, BitSet[]> others = new HashMap<>();
+        if (!dates.isEmpty()) {
+            addRows(others, appointmentRepository.findBookingsOnDatesExcluding(
+                    dates, excludedIds.isEmpty() ? List.of(-1L) : excludedIds, AppointmentStatus.REJECT));
+        }
+        return new BayPlan(others);
+    }
+
+    /**
+     * Working copy of bay occupancy for placing several appointments in one go
+     */
+    public final class BayPlan {
+
+        private final Map<LocalDate, BitSet[]> booked;
+
+        private BayPlan(Map<LocalDate, BitSet[]> booked) {
+            this.booked = booked;
+        }
+
+        /**
+         * Take and hold the lowest bay that is free for the whole interval
+         *
+         * @return the bay number (from 1), or -1 when every bay is busy for part of the interval
+         */
+        public int claim(LocalDate date, LocalTime time, int durationMinutes) {
+            int[] range = slotRange(time, durationMinutes);
+            int bay = hold(date, range, () -> booked.get(date));
+            if (bay > 0) {
+                booked.put(date, withBooking(booked.get(date), bay, range[0], range[1]));
+            }
+            return bay;
+        }
+    }
+
+    /**
+     * Take the lowest bay that is clear in both the stored bookings and the holds, and hold it
+     * until the surrounding transaction ends. A committed hold is marked as booked right away,
+     * so the slot never looks free between the commit and the appointment event.
+     */
+    private int hold(LocalDate date, int[] range, Supplier<BitSet[]> stored) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Nothing to hold until; the database constraints still guard the write
+            return freeBay(stored.get(), heldByDate.get(date), range[0], range[1]);
+        }
+
+        int[] claimed = {-1};
+        heldByDate.compute(date, (day, held) -> {
+            int bay = freeBay(stored.get(), held, range[0], range[1]);
+            if (bay < 0) {
+                return held;
+            }
+            claimed[0] = bay;
+            return withBooking(held, bay, range[0], range[1]);
+        });
+
+        int bay = claimed[0];
+        if (bay > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        applyChange(booked -> booked.compute(date,
+                                (day, existing) -> withBooking(existing, bay, range[0], range[1])));
+                    }
+                    heldByDate.computeIfPresent(date, (day, held) -> withoutBooking(held, bay, range[0], range[1]));
+                }
+            });
+        }
+        return bay;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        AppointmentSnapshot previous = event.previous();
+        AppointmentSnapshot after = event.current();
+        applyChange(booked -> {
+            if (isBooked(previous) && !(isBooked(after) && sameBooking(previous, after))) {
+                // Bits of different bookings are not told apart, so recompute the day
+                reloadDate(booked, previous.date());
+            }
+            if (isBooked(after)) {
+                markBooked(booked, after.date(), after.time(), after.bay(), after.durationMinutes());
+            }
+        });
+    }
+
+    /**
+     * Apply a change to the live map and remember it for a rebuild in progress
+     */
+    private void applyChange(Consumer<Map<LocalDate, BitSet[]>> change) {
+        swapLock.readLock().lock();
+        try {
+            Map<LocalDate, BitSet[]> current = bookedByDate;
+            if (current != null) {
+                change.accept(current);
+            }
+            // Before the first load completes only the buffer matters
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${appointments.availability.reconcile-interval-ms:300000}",
+            fixedDelayString = "${appointments.availability.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Drop days that can no longer be booked
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        Map<LocalDate, BitSet[]> current = bookedByDate;
+        if (current != null) {
+            LocalDate today = LocalDate.now();
+            current.keySet().removeIf(date -> date.isBefore(today));
+        }
+    }
+
+    /**
+     * Reload bookings from today onwards and swap them in atomically, with the changes
+     * that arrived during the load replayed
+     */
+    public synchronized void rebuild() {
+        Queue<Consumer<Map<LocalDate, BitSet[]>>> pending = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild = pending;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<LocalDate, BitSet[]> rebuilt;
+        try {
+            Map<LocalDate, BitSet[]> loaded = new ConcurrentHashMap<>();
+            addRows(loaded, appointmentRepository.findBookingsFrom(LocalDate.now(), AppointmentStatus.REJECT));
+            rebuilt = loaded;
+        } catch (Exception e) {
+            rebuilt = null;
+            log.error("Failed to rebuild slot availability index: {}", e.getMessage());
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+            if (rebuilt != null) {
+                for (Consumer<Map<LocalDate, BitSet[]>> change : pending) {
+                    change.accept(rebuilt);
+                }
+                bookedByDate = rebuilt;
+                log.debug("Slot availability index rebuilt for {} days, {} changes replayed",
+                        rebuilt.size(), pending.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to replay changes onto the rebuilt slot availability index: {}", e.getMessage());
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * First slot and number of slots covered by a booking
+     */
+    private int[] slotRange(LocalTime time, int durationMinutes) {
+        int first = slotOf(time);
+        int last = durationMinutes > 0 ? slotOf(time.plusMinutes(durationMinutes - 1L)) : first;
+        if (first < 0 || last < first) {
+            throw new IllegalArgumentException("The selected time is outside opening hours ("
+                    + openingTime + " - " + slotProperties.getClosingTime() + ")");
+        }
+        return new int[] {first, last - first + 1};
+    }
+
+    /**
+     * Lowest bay whose slots [first, first + length) are clear in both bookings and holds, or -1
+     */
+    private int freeBay(BitSet[] bayBookings, BitSet[] held, int first, int length) {
+        for (int bay = 0; bay < bays; bay++) {
+            if (isClear(bayBookings, bay, first, length) && isClear(held, bay, first, length)) {
+                return bay + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isClear(BitSet[] bayBits, int bay, int first, int length) {
+        BitSet bits = bayBits != null ? bayBits[bay] : null;
+        int next = bits != null ? bits.nextSetBit(first) : -1;
+        return next < 0 || next >= first + length;
+    }
+
+    private BitSet[] withBooking(BitSet[] existing, int bay, int first, int length) {
+        BitSet[] updated = existing != null ? existing.clone() : new BitSet[bays];
+        BitSet bayBookings = updated[bay - 1] != null ? (BitSet) updated[bay - 1].clone() : new BitSet(slotsPerDay);
+        bayBookings.set(first, first + length);
+        updated[bay - 1] = bayBookings;
+        return updated;
+    }
+
+    /**
+     * Copy without the given slots, or null when nothing is left
+     */
+    private BitSet[] withoutBooking(BitSet[] existing, int bay, int first, int length) {
+        BitSet[] updated = existing.clone();
+        if (updated[bay - 1] != null) {
+            BitSet bayBookings = (BitSet) updated[bay - 1].clone();
+            bayBookings.clear(first, first + length);
+            updated[bay - 1] = bayBookings.isEmpty() ? null : bayBookings;
+        }
+        return Arrays.stream(updated).allMatch(Objects::isNull) ? null : updated;
+    }
+
+    private Map<LocalDate, BitSet[]> loadBetween(LocalDate from, LocalDate to) {
+        Map<LocalDate, BitSet[]> loaded = new HashMap<>();
+        addRows(loaded, appointmentRepository.findBookingsBetween(from, to, AppointmentStatus.REJECT));
+        return loaded;
+    }
+
+    private void reloadDate(Map<LocalDate, BitSet[]> target, LocalDate date) {
+        BitSet[] bayBookings = loadBetween(date, date).get(date);
+        if (bayBookings == null) {
+            target.remove(date);
+        } else {
+            target.put(date, bayBookings);
+        }
+    }
+
+    private void addRows(Map<LocalDate, BitSet[]> target, List<Object[]> rows) {
+        // Maps being filled here are not published yet, so their entries are modified in place
+        for (Object[] row : rows) {
+            Integer bay = (Integer) row[2];
+            int first = slotOf((LocalTime) row[1]);
+            if (first < 0 || bay == null || bay < 1 || bay > bays) {
+                continue;
+            }
+            int length = lengthInSlots((LocalTime) row[1], (Integer) row[3], first);
+            BitSet[] bayBookings = target.computeIfAbsent((LocalDate) row[0], date -> new BitSet[bays]);
+            if (bayBookings[bay - 1] == null) {
+                bayBookings[bay - 1] = new BitSet(slotsPerDay);
+            }
+            bayBookings[bay - 1].set(first, first + length);
+        }
+    }
+
+    private void markBooked(Map<LocalDate, BitSet[]> target, LocalDate date, LocalTime time,
+                            Integer bay, Integer durationMinutes) {
+        int first = slotOf(time);
+        if (date == null || first < 0 || bay == null || bay < 1 || bay > bays || date.isBefore(LocalDate.now())) {
+            return;
+        }
+        int length = lengthInSlots(time, durationMinutes, first);
+        target.compute(date, (day, existing) -> withBooking(existing, bay, first, length));
+    }
+
+    /**
+     * Slots covered by a stored booking, clipped at closing time
+     */
+    private int lengthInSlots(LocalTime time, Integer durationMinutes, int first) {
+        int minutes = durationMinutes != null && durationMinutes > 0 ? durationMinutes : slotMinutes;
+        int last = slotOf(time.plusMinutes(minutes - 1L));
+        return last >= first ? last - first + 1 : slotsPerDay - first;
+    }
+
+    private static boolean isBooked(AppointmentSnapshot snapshot) {
+        return snapshot != null && snapshot.date() != null && snapshot.status() != AppointmentStatus.REJECT;
+    }
+
+    private static boolean sameBooking(AppointmentSnapshot a, AppointmentSnapshot b) {
+        return Objects.equals(a.date(), b.date()) && Objects.equals(a.time(), b.time())
+                && Objects.equals(a.bay(), b.bay()) && Objects.equals(a.durationMinutes(), b.durationMinutes());
+    }
+}
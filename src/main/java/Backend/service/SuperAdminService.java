@@ -1,24 +1,32 @@
 package Backend.service;
 
 import Backend.dto.Request.CreateUserRequest;
+import Backend.dto.Response.CursorPage;
 import Backend.dto.Response.UserResponse;
 import Backend.entity.Role;
 import Backend.entity.Role.RoleName;
 import Backend.entity.User;
+import Backend.event.UserAccountChangedEvent;
 import Backend.repository.RoleRepository;
 import Backend.repository.UserRepository;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,7 +36,15 @@ public class SuperAdminService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${users.statistics.max-age-ms:60000}")
+    private long statisticsMaxAgeMillis;
+
+    private final AtomicReference<StatisticsSnapshot> statisticsSnapshot =
+            new AtomicReference<>(StatisticsSnapshot.empty(0));
 
 
     @Transactional
@@ -52,6 +68,7 @@ public class SuperAdminService {
         user.setEnabled(request.getEnabled() != null ? request.getEnabled() : true);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(savedUser.getId()));
         log.info("User created successfully: {}", savedUser.getEmail());
 
         return mapToUserResponse(savedUser);
@@ -75,6 +92,13 @@ public class SuperAdminService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of a role's users, optionally narrowed to a name, email or phone prefix
+     */
+    public CursorPage<UserResponse> getUsersByRolePage(RoleName roleName, String query, String cursor, int limit) {
+        return userService.getDirectoryPage(roleName, false, query, cursor, limit, this::mapToUserResponse);
+    }
+
     
     @Transactional
     public void deleteUser(Long id) {
@@ -89,6 +113,7 @@ public class SuperAdminService {
         }
 
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.info("User deleted successfully: {}", user.getEmail());
     }
 
@@ -106,28 +131,78 @@ public class SuperAdminService {
         }
 
         user.setEnabled(!user.isEnabled());
+        // Tokens issued before this change are no longer accepted
+        user.setTokenVersion(user.getTokenVersion() + 1);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(updatedUser.getId()));
         
         log.info("User status toggled: {} - Enabled: {}", updatedUser.getEmail(), updatedUser.isEnabled());
         return mapToUserResponse(updatedUser);
     }
 
+    /**
+     * User counts, served from a snapshot until an account changes or it is older than
+     * users.statistics.max-age-ms (which also picks up changes made by other nodes)
+     */
     public UserStatistics getUserStatistics() {
-        
-        long totalUsers = userRepository.count();
-        long enabledUsers = userRepository.countByEnabled(true);
-        long disabledUsers = userRepository.countByEnabled(false);
+        StatisticsSnapshot current = statisticsSnapshot.get();
+        if (current.statistics() != null && !current.isOlderThan(statisticsMaxAgeMillis)) {
+            return current.statistics();
+        }
+        UserStatistics statistics = computeUserStatistics();
+        // Keep it only if no account changed while counting: an invalidation replaces the holder
+        statisticsSnapshot.compareAndSet(current,
+                new StatisticsSnapshot(current.version(), statistics, System.currentTimeMillis()));
+        return statistics;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        statisticsSnapshot.updateAndGet(current -> StatisticsSnapshot.empty(current.version() + 1));
+    }
+
+    /**
+     * All statistics from one aggregate over (role, enabled)
+     */
+    private UserStatistics computeUserStatistics() {
+        long enabledUsers = 0;
+        long disabledUsers = 0;
+        Map<RoleName, Long> byRole = new EnumMap<>(RoleName.class);
+        for (Object[] row : userRepository.countGroupedByRoleAndEnabled()) {
+            long count = ((Number) row[2]).longValue();
+            if ((Boolean) row[1]) {
+                enabledUsers += count;
+            } else {
+                disabledUsers += count;
+            }
+            byRole.merge((RoleName) row[0], count, Long::sum);
+        }
 
         return UserStatistics.builder()
-                .totalUsers(totalUsers)
+                .totalUsers(enabledUsers + disabledUsers)
                 .enabledUsers(enabledUsers)
                 .disabledUsers(disabledUsers)
-                .adminCount(getUsersByRole(RoleName.ADMIN).size())
-                .employeeCount(getUsersByRole(RoleName.EMPLOYEE).size())
-                .customerCount(getUsersByRole(RoleName.CUSTOMER).size())
+                .adminCount(byRole.getOrDefault(RoleName.ADMIN, 0L).intValue())
+                .employeeCount(byRole.getOrDefault(RoleName.EMPLOYEE, 0L).intValue())
+                .customerCount(byRole.getOrDefault(RoleName.CUSTOMER, 0L).intValue())
                 .build();
     }
 
+    /**
+     * Counts with the account-change version they were taken at; {@code statistics} is null
+     * after an invalidation until the next computation
+     */
+    private record StatisticsSnapshot(long version, UserStatistics statistics, long computedAt) {
+
+        static StatisticsSnapshot empty(long version) {
+            return new StatisticsSnapshot(version, null, 0);
+        }
+
+        boolean isOlderThan(long maxAgeMillis) {
+            return System.currentTimeMillis() - computedAt > maxAgeMillis;
+        }
+    }
+
 
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
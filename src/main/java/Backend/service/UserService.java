@@ -1,16 +1,19 @@
 package Backend.service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import Backend.entity.Appointment;
+import Backend.dto.UserCursor;
+import Backend.dto.Response.CursorPage;
 import Backend.entity.Role;
 import Backend.entity.User;
-import Backend.repository.AppointmentRepository;
 import Backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -19,45 +22,55 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class UserService {
 
+    /** Upper bound for the limit of user directory pages */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
-    private final AppointmentRepository appointmentRepository;
 
     /**
-     * Find all users by role name
-     * @param roleName - "EMPLOYEE", "ADMIN", "SUPER_ADMIN", or "CUSTOMER"
-     * @return List of users with the specified role
+     * Find all users with a role, together with it
      */
     @Transactional(readOnly = true)
-    public List<User> findByRoleName(String roleName) {
-        try {
-            // Convert String to RoleName enum
-            Role.RoleName roleNameEnum = Role.RoleName.valueOf(roleName.toUpperCase());
-            return userRepository.findByRole_Name(roleNameEnum);
-        } catch (IllegalArgumentException e) {
-            // If invalid role name, return empty list
-            throw new IllegalArgumentException("Invalid role name: " + roleName + 
-                ". Valid roles are: SUPER_ADMIN, ADMIN, EMPLOYEE, CUSTOMER");
-        }
+    public List<User> findByRole(Role.RoleName roleName) {
+        return userRepository.findByRole_Name(roleName);
     }
 
     /**
-     * Get task statistics for an employee
-     * Returns count of appointments by status
+     * Enabled employees with their role, for employee selection
      */
     @Transactional(readOnly = true)
-    public Map<String, Long> getEmployeeTaskStats(User employee) {
-        Map<String, Long> stats = new HashMap<>();
-        
-        // Count appointments for each status
-        stats.put("pending", appointmentRepository.countByEmployeeAndStatus(employee, Appointment.AppointmentStatus.PENDING));
-        stats.put("approved", appointmentRepository.countByEmployeeAndStatus(employee, Appointment.AppointmentStatus.APPROVE));
-        stats.put("inProgress", appointmentRepository.countByEmployeeAndStatus(employee, Appointment.AppointmentStatus.IN_PROGRESS));
-        stats.put("completed", appointmentRepository.countByEmployeeAndStatus(employee, Appointment.AppointmentStatus.COMPLETED));
-        
-        // Calculate total tasks
-        long total = stats.values().stream().mapToLong(Long::longValue).sum();
-        stats.put("total", total);
-        
-        return stats;
+    public List<User> findEnabledEmployees() {
+        return userRepository.findByRole_NameAndEnabledTrue(Role.RoleName.EMPLOYEE);
+    }
+
+    /**
+     * Keyset page of a role's users in id order, optionally narrowed to a name, email or phone prefix.
+     * Fetches one row more than requested to learn whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public <T> CursorPage<T> getDirectoryPage(Role.RoleName roleName, boolean enabledOnly, String query,
+                                              String cursor, int limit, Function<User, T> mapper) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        UserCursor after = UserCursor.decodeOrStart(cursor);
+        Set<Boolean> enabled = enabledOnly ? Set.of(true) : Set.of(true, false);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<User> rows = query == null || query.isBlank()
+                ? userRepository.findDirectoryPage(roleName, enabled, after.id(), pageable)
+                : userRepository.searchDirectoryPage(roleName, enabled, likePrefix(query), after.id(), pageable);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows.stream().map(mapper).toList(), null, false);
+        }
+        List<User> items = rows.subList(0, pageSize);
+        String nextCursor = new UserCursor(items.get(pageSize - 1).getId()).encode();
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, true);
+    }
+
+    private static String likePrefix(String query) {
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package Backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import Backend.dto.Response.AppointmentResponse;
+import Backend.dto.Response.VehicleResponse;
+import Backend.entity.Appointment;
+import Backend.entity.User;
+import Backend.entity.Vehicle;
+import Backend.repository.AppointmentRepository;
+import Backend.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vehicle registry: links appointments to vehicles by normalized plate number
+ * and answers plate searches and service history lookups from it.
+ */
+@Service
+@Slf4j
+public class VehicleService {
+
+    /** Upper bound for the number of search results */
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    /** SQLSTATE of a unique constraint violation on PostgreSQL and H2 */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final VehicleRepository vehicleRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTransaction;
+
+    public VehicleService(VehicleRepository vehicleRepository,
+                          AppointmentRepository appointmentRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Upper-case letters and digits of a plate, so "ab-12 cd" and "AB12CD" are the same vehicle.
+     * Null when nothing is left.
+     */
+    public static String normalizePlate(String vehicleNumber) {
+        if (vehicleNumber == null) {
+            return null;
+        }
+        String plate = vehicleNumber.replaceAll("[^\\p{L}\\p{N}]", "").toUpperCase(Locale.ROOT);
+        return plate.isEmpty() ? null : plate;
+    }
+
+    /**
+     * Registry entry for the plate on an appointment, created on first sight.
+     * The type follows the latest booking; the owner is whoever booked the vehicle first.
+     * Null for a blank plate.
+     */
+    @Transactional
+    public Vehicle register(String vehicleNumber, String vehicleType, User customer) {
+        String plate = normalizePlate(vehicleNumber);
+        if (plate == null) {
+            return null;
+        }
+        Vehicle vehicle = vehicleRepository.findByPlateNumber(plate).orElseGet(() -> create(plate));
+        vehicle.setDisplayNumber(vehicleNumber.trim());
+        if (vehicleType != null && !vehicleType.isBlank()) {
+            vehicle.setVehicleType(vehicleType);
+        }
+        if (customer != null && vehicle.getOwner() == null) {
+            vehicle.setOwner(customer);
+        }
+        return vehicle;
+    }
+
+    /**
+     * Vehicles whose plate contains the search term, ignoring case, spaces and punctuation
+     */
+    @Transactional(readOnly = true)
+    public List<VehicleResponse> search(String query, int limit) {
+        String fragment = normalizePlate(query);
+        if (fragment == null) {
+            throw new IllegalArgumentException("Search term must contain letters or digits");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return vehicleRepository.searchByPlateFragment(fragment, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * All appointments of a vehicle, newest first, in a single query
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getServiceHistory(String vehicleNumber) {
+        String plate = normalizePlate(vehicleNumber);
+        if (plate == null) {
+            throw new IllegalArgumentException("Vehicle number must contain letters or digits");
+        }
+        return appointmentRepository.findResponsesByPlateNumber(plate);
+    }
+
+    /**
+     * Backfill in the background so startup does not wait for a pass over the appointments table
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        backfill();
+    }
+
+    /**
+     * Link appointments booked before the registry existed, one batch per transaction
+     */
+    public void backfill() {
+        try {
+            long afterId = 0L;
+            int linked = 0;
+            List<Long> lastIds;
+            do {
+                final long after = afterId;
+                lastIds = requiresNewTransaction.execute(tx -> backfillBatch(after));
+                if (!lastIds.isEmpty()) {
+                    afterId = lastIds.get(lastIds.size() - 1);
+                    linked += lastIds.size();
+                }
+            } while (lastIds.size() == BACKFILL_BATCH_SIZE);
+            if (linked > 0) {
+                log.info("Vehicle registry backfilled from {} appointments", linked);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill vehicle registry: {}", e.getMessage());
+        }
+    }
+
+    private List<Long> backfillBatch(long afterId) {
+        List<Appointment> appointments = appointmentRepository.findWithoutVehicleAfter(
+                afterId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        for (Appointment appointment : appointments) {
+            appointment.setVehicle(register(appointment.getVehicleNumber(), appointment.getVehicleType(),
+                    appointment.getCustomer()));
+        }
+        return appointments.stream().map(Appointment::getId).toList();
+    }
+
+    /**
+     * Insert the plate in the caller's transaction behind a savepoint, so two first bookings of
+     * the same vehicle share one row instead of failing on the unique index, and a booking that
+     * rolls back takes its new vehicle with it. A plain statement keeps the failed insert out of
+     * the persistence context.
+     */
+    private Vehicle create(String plate) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO vehicles (plate_number, created_at, updated_at) VALUES (?, ?, ?)")) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                insert.setString(1, plate);
+                insert.setTimestamp(2, now);
+                insert.setTimestamp(3, now);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                log.debug("Vehicle {} registered concurrently", plate);
+            }
+            return null;
+        });
+        return vehicleRepository.findByPlateNumber(plate)
+                .orElseThrow(() -> new IllegalStateException("Vehicle not found after registering: " + plate));
+    }
+}
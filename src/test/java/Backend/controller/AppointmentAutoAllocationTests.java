@@ -0,0 +1,103 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentAutoAllocationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User admin;
+	private User customer;
+	private LocalDate date;
+
+	@BeforeEach
+	void setUp() {
+		admin = fixtures.createUser(Role.RoleName.SUPER_ADMIN);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		date = fixtures.reserveDays(3);
+	}
+
+	@Test
+	void allocatesApprovedAppointmentsToLeastLoadedEnabledEmployees() throws Exception {
+		fixtures.createUser(Role.RoleName.EMPLOYEE);
+		User busy = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		User disabled = fixtures.createUser(Role.RoleName.EMPLOYEE, "Disabled employee", false);
+		createAppointment(date.plusDays(1), LocalTime.of(9, 0), AppointmentStatus.IN_PROGRESS, busy);
+		createAppointment(date.plusDays(2), LocalTime.of(9, 0), AppointmentStatus.IN_PROGRESS, busy);
+
+		Appointment first = createAppointment(date, LocalTime.of(9, 0), AppointmentStatus.APPROVE, null);
+		Appointment second = createAppointment(date, LocalTime.of(10, 0), AppointmentStatus.APPROVE, null);
+		Appointment pending = createAppointment(date, LocalTime.of(11, 0), AppointmentStatus.PENDING, null);
+
+		mockMvc.perform(post("/api/appointments/allocate/auto").param("date", date.toString())
+						.with(user(new UserPrincipal(admin))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(first.getId()))
+				.andExpect(jsonPath("$[1].id").value(second.getId()));
+
+		for (Appointment allocated : new Appointment[] { first, second }) {
+			Appointment reloaded = appointmentRepository.findWithPartiesById(allocated.getId()).orElseThrow();
+			assertThat(reloaded.getStatus()).isEqualTo(AppointmentStatus.IN_PROGRESS);
+			assertThat(reloaded.getEmployee()).isNotNull();
+			// An idle employee always has fewer tasks than the busy one for two appointments
+			assertThat(reloaded.getEmployee().getId()).isNotIn(busy.getId(), disabled.getId());
+		}
+		Appointment untouched = appointmentRepository.findWithPartiesById(pending.getId()).orElseThrow();
+		assertThat(untouched.getStatus()).isEqualTo(AppointmentStatus.PENDING);
+		assertThat(untouched.getEmployee()).isNull();
+	}
+
+	@Test
+	void rejectsNonAdmins() throws Exception {
+		createAppointment(date, LocalTime.of(9, 0), AppointmentStatus.APPROVE, null);
+
+		mockMvc.perform(post("/api/appointments/allocate/auto").param("date", date.toString())
+						.with(user(new UserPrincipal(customer))))
+				.andExpect(status().isBadRequest());
+	}
+
+	private Appointment createAppointment(LocalDate day, LocalTime time, AppointmentStatus status, User employee) {
+		Appointment appointment = new Appointment();
+		appointment.setDate(day);
+		appointment.setTime(time);
+		appointment.setService("Oil Change");
+		appointment.setVehicleType("Car");
+		appointment.setCustomer(customer);
+		appointment.setEmployee(employee);
+		appointment.setStatus(status);
+		return appointmentRepository.save(appointment);
+	}
+}
@@ -0,0 +1,147 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.service.SlotAvailabilityIndex;
+
+@SpringBootTest(properties = {
+		"appointments.slots.bays=2",
+		"appointments.slots.service-minutes.full-service=120"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentAvailabilityTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User customer;
+	private LocalDate date;
+
+	@BeforeEach
+	void setUp() {
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+
+		date = fixtures.reserveDays(1);
+	}
+
+	@Test
+	void slotStaysAvailableUntilEveryBayIsBooked() throws Exception {
+		assertThat(availableSlots(date, null)).contains("10:00:00").hasSize(slotAvailabilityIndex.getSlotsPerDay());
+
+		JsonNode first = book("10:00", "Oil Change");
+		assertThat(first.get("bay").asInt()).isEqualTo(1);
+		assertThat(availableSlots(date, null)).contains("10:00:00");
+
+		JsonNode second = book("10:00", "Oil Change");
+		assertThat(second.get("bay").asInt()).isEqualTo(2);
+		assertThat(availableSlots(date, null)).doesNotContain("10:00:00").contains("09:30:00", "10:30:00");
+
+		mockMvc.perform(post("/api/appointments")
+				.with(user(new UserPrincipal(customer)))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(bookingJson("10:00", "Oil Change")))
+				.andExpect(status().isConflict());
+
+		mockMvc.perform(patch("/api/appointments/" + first.get("id").asLong() + "/cancel")
+				.with(user(new UserPrincipal(customer))))
+				.andExpect(status().isOk());
+		assertThat(availableSlots(date, null)).contains("10:00:00");
+	}
+
+	@Test
+	void longServiceOccupiesConsecutiveSlotsInOneBay() throws Exception {
+		JsonNode fullService = book("10:00", "Full Service");
+		assertThat(fullService.get("durationMinutes").asInt()).isEqualTo(120);
+		book("11:00", "Oil Change");
+
+		// Bay 1 is busy 10:00-12:00 and bay 2 at 11:00, so a two-hour job cannot start from 09:30 to 11:30
+		assertThat(availableSlots(date, "Full Service"))
+				.contains("09:00:00", "11:30:00")
+				.doesNotContain("09:30:00", "10:00:00", "10:30:00", "11:00:00");
+		assertThat(availableSlots(date, null)).contains("10:30:00", "11:30:00").doesNotContain("11:00:00");
+	}
+
+	@Test
+	void rejectsBookingOutsideOpeningHours() throws Exception {
+		for (String[] booking : new String[][] {{"07:30", "Oil Change"}, {"17:00", "Full Service"}}) {
+			mockMvc.perform(post("/api/appointments")
+					.with(user(new UserPrincipal(customer)))
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(bookingJson(booking[0], booking[1])))
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.message").value(containsString("outside opening hours")));
+		}
+		assertThat(availableSlots(date, null)).hasSize(slotAvailabilityIndex.getSlotsPerDay());
+	}
+
+	@Test
+	void rejectsInvertedRange() throws Exception {
+		mockMvc.perform(get("/api/appointments/availability?from=" + date + "&to=" + date.minusDays(1))
+				.with(user(new UserPrincipal(customer))))
+				.andExpect(status().isBadRequest());
+	}
+
+	private JsonNode book(String time, String service) throws Exception {
+		String body = mockMvc.perform(post("/api/appointments")
+				.with(user(new UserPrincipal(customer)))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(bookingJson(time, service)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private String bookingJson(String time, String service) {
+		return "{\"date\":\"" + date + "\",\"time\":\"" + time + "\",\"service\":\"" + service + "\"}";
+	}
+
+	private List<String> availableSlots(LocalDate day, String service) throws Exception {
+		String url = "/api/appointments/availability?from=" + day + "&to=" + day
+				+ (service != null ? "&service=" + service : "");
+		String body = mockMvc.perform(get(url)
+				.with(user(new UserPrincipal(customer))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode days = objectMapper.readTree(body);
+		assertThat(days).hasSize(1);
+		List<String> slots = new ArrayList<>();
+		days.get(0).get("availableSlots").forEach(slot -> slots.add(slot.asText()));
+		return slots;
+	}
+}
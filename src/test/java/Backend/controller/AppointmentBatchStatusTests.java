@@ -0,0 +1,134 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentBatchStatusTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User employee;
+	private User customer;
+	private LocalDate date;
+
+	@BeforeEach
+	void setUp() {
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		date = fixtures.reserveDays(1);
+	}
+
+	@Test
+	void changesEveryFoundAppointmentAndReportsMissingIds() throws Exception {
+		Long first = createAppointment(LocalTime.of(9, 0), AppointmentStatus.IN_PROGRESS).getId();
+		Long second = createAppointment(LocalTime.of(10, 0), AppointmentStatus.IN_PROGRESS).getId();
+		long missing = Long.MAX_VALUE;
+
+		mockMvc.perform(batch("[" + first + "," + missing + "," + second + "," + first + "]", "COMPLETED", employee))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(2))
+				.andExpect(jsonPath("$.failed").value(1))
+				.andExpect(jsonPath("$.results.length()").value(3))
+				.andExpect(jsonPath("$.results[0].id").value(first))
+				.andExpect(jsonPath("$.results[0].appointment.status").value("COMPLETED"))
+				.andExpect(jsonPath("$.results[1].updated").value(false))
+				.andExpect(jsonPath("$.results[1].error").value("Appointment not found with id: " + missing))
+				.andExpect(jsonPath("$.results[2].id").value(second));
+
+		assertThat(appointmentRepository.findById(first).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+		assertThat(appointmentRepository.findById(second).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.COMPLETED);
+	}
+
+	@Test
+	void leavesAppointmentUnchangedWhenItsSlotIsTaken() throws Exception {
+		createAppointment(LocalTime.of(9, 0), AppointmentStatus.APPROVE);
+		Long rejected = createAppointment(LocalTime.of(9, 0), AppointmentStatus.REJECT).getId();
+		Long other = createAppointment(LocalTime.of(11, 0), AppointmentStatus.REJECT).getId();
+
+		mockMvc.perform(batch("[" + rejected + "," + other + "]", "APPROVE", employee))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(1))
+				.andExpect(jsonPath("$.results[0].updated").value(false))
+				.andExpect(jsonPath("$.results[0].error").value("The selected time slot is not available"))
+				.andExpect(jsonPath("$.results[1].appointment.status").value("APPROVE"));
+
+		assertThat(appointmentRepository.findById(rejected).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.REJECT);
+	}
+
+	@Test
+	void revivesOnlyOneOfTwoRejectedAppointmentsInTheSameSlot() throws Exception {
+		Long first = createAppointment(LocalTime.of(9, 0), AppointmentStatus.REJECT).getId();
+		Long second = createAppointment(LocalTime.of(9, 0), AppointmentStatus.REJECT).getId();
+
+		mockMvc.perform(batch("[" + first + "," + second + "]", "APPROVE", employee))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.updated").value(1))
+				.andExpect(jsonPath("$.failed").value(1))
+				.andExpect(jsonPath("$.results[0].appointment.status").value("APPROVE"))
+				.andExpect(jsonPath("$.results[0].appointment.bay").value(1))
+				.andExpect(jsonPath("$.results[1].updated").value(false))
+				.andExpect(jsonPath("$.results[1].error").value("The selected time slot is not available"));
+
+		assertThat(appointmentRepository.findById(first).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.APPROVE);
+		assertThat(appointmentRepository.findById(second).orElseThrow().getStatus()).isEqualTo(AppointmentStatus.REJECT);
+	}
+
+	@Test
+	void rejectsCustomers() throws Exception {
+		Long id = createAppointment(LocalTime.of(9, 0), AppointmentStatus.APPROVE).getId();
+
+		mockMvc.perform(batch("[" + id + "]", "COMPLETED", customer))
+				.andExpect(status().isForbidden());
+	}
+
+	private RequestBuilder batch(String ids, String status, User principal) {
+		return patch("/api/appointments/status:batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":" + ids + ",\"status\":\"" + status + "\"}")
+				.with(user(new UserPrincipal(principal)));
+	}
+
+	private Appointment createAppointment(LocalTime time, AppointmentStatus status) {
+		Appointment appointment = new Appointment();
+		appointment.setDate(date);
+		appointment.setTime(time);
+		appointment.setService("Oil Change");
+		appointment.setVehicleType("Car");
+		appointment.setCustomer(customer);
+		appointment.setStatus(status);
+		return appointmentRepository.save(appointment);
+	}
+}
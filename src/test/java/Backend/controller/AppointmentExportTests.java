@@ -0,0 +1,119 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User admin;
+	private LocalDate firstDate;
+
+	@BeforeEach
+	void setUp() {
+		admin = fixtures.createUser(Role.RoleName.ADMIN);
+		User customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+
+		firstDate = fixtures.reserveDays(2);
+		createAppointment(firstDate.plusDays(1), customer, "Brakes, \"front\" only");
+		createAppointment(firstDate, customer, "=HYPERLINK(\"http://x\")");
+	}
+
+	@Test
+	void exportsNdjsonOneAppointmentPerLineInDateOrder() throws Exception {
+		String body = export("ndjson", "application/x-ndjson");
+
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(2);
+		JsonNode first = objectMapper.readTree(lines[0]);
+		assertThat(first.get("date").asText()).isEqualTo(firstDate.toString());
+		assertThat(first.get("customer").get("fullName").asText()).isEqualTo("CUSTOMER user");
+		assertThat(objectMapper.readTree(lines[1]).get("instructions").asText()).isEqualTo("Brakes, \"front\" only");
+	}
+
+	@Test
+	void exportsCsvWithHeaderQuotedFieldsAndNeutralizedFormulas() throws Exception {
+		String body = export("csv", "text/csv");
+
+		String[] lines = body.split("\n");
+		assertThat(lines).hasSize(3);
+		assertThat(lines[0]).startsWith("id,date,time,").contains(",status,bay,durationMinutes,customerId,");
+		assertThat(lines[1]).contains("," + firstDate + ",09:00,");
+		assertThat(lines[1]).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",");
+		assertThat(lines[1].split(",", -1)).hasSameSizeAs(lines[0].split(",", -1));
+		assertThat(lines[2]).contains(",\"Brakes, \"\"front\"\" only\",");
+	}
+
+	@Test
+	void rejectsUnknownFormat() throws Exception {
+		mockMvc.perform(get(exportUrl("xml")).with(user(new UserPrincipal(admin))))
+				.andExpect(status().isBadRequest());
+	}
+
+	private String export(String format, String contentType) throws Exception {
+		MvcResult result = mockMvc.perform(get(exportUrl(format)).with(user(new UserPrincipal(admin))))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(contentType))
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private String exportUrl(String format) {
+		return "/api/appointments/export?startDate=" + firstDate + "&endDate=" + firstDate.plusDays(1)
+				+ "&format=" + format;
+	}
+
+	private void createAppointment(LocalDate date, User customer, String instructions) {
+		Appointment appointment = new Appointment();
+		appointment.setDate(date);
+		appointment.setTime(LocalTime.of(9, 0));
+		appointment.setService("Oil Change");
+		appointment.setVehicleType("Car");
+		appointment.setInstructions(instructions);
+		appointment.setCustomer(customer);
+		appointment.setStatus(Appointment.AppointmentStatus.APPROVE);
+		appointmentRepository.save(appointment);
+	}
+}
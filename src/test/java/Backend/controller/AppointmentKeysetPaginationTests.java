@@ -0,0 +1,156 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentKeysetPaginationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User admin;
+	private User customer;
+	private List<Long> expectedOrder;
+	private LocalDate firstDate;
+
+	@BeforeEach
+	void setUp() {
+		admin = fixtures.createUser(Role.RoleName.ADMIN);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+
+		// Inserted newest first so ids do not follow the (date, time) order;
+		// a rebooking of a rejected 09:00 slot on the first day exercises the id tie-break
+		firstDate = fixtures.reserveDays(3);
+		List<Long> byDay = new ArrayList<>();
+		for (int day = 2; day >= 0; day--) {
+			byDay.add(0, createAppointment(firstDate.plusDays(day), LocalTime.of(14, 0), Appointment.AppointmentStatus.APPROVE));
+			byDay.add(0, createAppointment(firstDate.plusDays(day), LocalTime.of(9, 0), Appointment.AppointmentStatus.REJECT));
+		}
+		byDay.add(1, createAppointment(firstDate, LocalTime.of(9, 0), Appointment.AppointmentStatus.APPROVE));
+		expectedOrder = byDay;
+	}
+
+	@Test
+	void walksAllPagesInDateTimeIdOrder() throws Exception {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			String url = "/api/appointments/customer/" + customer.getId() + "?limit=3"
+					+ (cursor != null ? "&cursor=" + cursor : "");
+			JsonNode page = getJson(url);
+			page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+			assertThat(page.get("hasMore").asBoolean()).isEqualTo(cursor != null);
+			pages++;
+		} while (cursor != null);
+
+		assertThat(seen).containsExactlyElementsOf(expectedOrder);
+		assertThat(pages).isEqualTo(3);
+	}
+
+	@Test
+	void deepPageCostsTheSameAsFirstPage() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		String base = "/api/appointments/customer/" + customer.getId() + "?limit=2";
+
+		statistics.clear();
+		String cursor = getJson(base).get("nextCursor").asText();
+		long firstPageStatements = statistics.getPrepareStatementCount();
+
+		cursor = getJson(base + "&cursor=" + cursor).get("nextCursor").asText();
+		statistics.clear();
+		getJson(base + "&cursor=" + cursor);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstPageStatements);
+	}
+
+	@Test
+	void legacyListIsReturnedWithoutCursorOrLimit() throws Exception {
+		mockMvc.perform(get("/api/appointments/customer/" + customer.getId()).with(user(new UserPrincipal(admin))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(expectedOrder.size()));
+	}
+
+	@Test
+	void rejectsMalformedCursor() throws Exception {
+		mockMvc.perform(get("/api/appointments/customer/" + customer.getId() + "?cursor=not-a-cursor")
+				.with(user(new UserPrincipal(admin))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid cursor"));
+	}
+
+	@Test
+	void rejectsDateRangeCursorOutsideTheRange() throws Exception {
+		String base = "/api/appointments/date-range?limit=1&startDate=" + firstDate + "&endDate=" + firstDate;
+		String cursor = getJson(base).get("nextCursor").asText();
+		assertThat(getJson(base + "&cursor=" + cursor).get("items")).hasSize(1);
+
+		String laterRange = "/api/appointments/date-range?limit=1&startDate=" + firstDate.plusDays(1)
+				+ "&endDate=" + firstDate.plusDays(2);
+		mockMvc.perform(get(laterRange + "&cursor=" + cursor).with(user(new UserPrincipal(admin))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid cursor"));
+	}
+
+	private JsonNode getJson(String url) throws Exception {
+		String body = mockMvc.perform(get(url).with(user(new UserPrincipal(admin))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private Long createAppointment(LocalDate date, LocalTime time, Appointment.AppointmentStatus status) {
+		Appointment appointment = new Appointment();
+		appointment.setDate(date);
+		appointment.setTime(time);
+		appointment.setService("Oil Change");
+		appointment.setVehicleType("Car");
+		appointment.setCustomer(customer);
+		appointment.setStatus(status);
+		return appointmentRepository.save(appointment).getId();
+	}
+}
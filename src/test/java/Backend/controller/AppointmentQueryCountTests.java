@@ -0,0 +1,154 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards against N+1 selects on the appointment and employee endpoints by asserting
+ * the number of JDBC statements each request prepares.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AppointmentQueryCountTests {
+
+	private static final int APPOINTMENTS = 12;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private Statistics statistics;
+	private User admin;
+	private User customer;
+	private User employee;
+	private Long appointmentId;
+	private LocalDate firstDate;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		admin = fixtures.createUser(Role.RoleName.ADMIN);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		User otherCustomer = fixtures.createUser(Role.RoleName.CUSTOMER);
+
+		// Spread appointments over distinct dates, customers and employees
+		firstDate = fixtures.reserveDays(APPOINTMENTS + 1);
+		for (int i = 0; i < APPOINTMENTS; i++) {
+			Appointment appointment = new Appointment();
+			appointment.setDate(firstDate.plusDays(i));
+			appointment.setTime(LocalTime.of(9, 0));
+			appointment.setService("Oil Change");
+			appointment.setVehicleType("Car");
+			appointment.setCustomer(i % 2 == 0 ? customer : otherCustomer);
+			appointment.setEmployee(i % 3 == 0 ? null : employee);
+			appointment.setStatus(Appointment.AppointmentStatus.APPROVE);
+			appointmentId = appointmentRepository.save(appointment).getId();
+		}
+	}
+
+	@Test
+	void listAllAppointmentsUsesDataAndCountQueries() throws Exception {
+		assertStatements(2, "/api/appointments?page=0&size=10", admin);
+	}
+
+	@Test
+	void appointmentByIdUsesSingleQuery() throws Exception {
+		assertStatements(1, "/api/appointments/" + appointmentId, admin);
+	}
+
+	@Test
+	void appointmentsByDateRangeUseSingleQuery() throws Exception {
+		assertStatements(1, "/api/appointments/date-range?startDate=" + firstDate
+				+ "&endDate=" + firstDate.plusDays(APPOINTMENTS), admin);
+		assertNoEntitiesLoaded();
+	}
+
+	@Test
+	void appointmentsByStatusUseSingleQuery() throws Exception {
+		assertStatements(1, "/api/appointments/status/APPROVE", admin);
+		assertNoEntitiesLoaded();
+	}
+
+	@Test
+	void todaysAppointmentsUseSingleQuery() throws Exception {
+		assertStatements(1, "/api/appointments/today", admin);
+		assertNoEntitiesLoaded();
+	}
+
+	@Test
+	void appointmentsByEmployeeCheckEmployeeThenList() throws Exception {
+		assertStatements(2, "/api/appointments/employee/" + employee.getId(), admin);
+		assertNoEntitiesLoaded();
+	}
+
+	@Test
+	void appointmentsByCustomerCheckCustomerThenList() throws Exception {
+		assertStatements(2, "/api/appointments/customer/" + customer.getId(), admin);
+		assertNoEntitiesLoaded();
+	}
+
+	@Test
+	void myAppointmentsTakeCurrentUserFromPrincipal() throws Exception {
+		assertStatements(1, "/api/appointments/my", customer);
+	}
+
+	@Test
+	void employeesWithTaskStatsUseConstantQueries() throws Exception {
+		fixtures.createUser(Role.RoleName.EMPLOYEE);
+		assertStatements(2, "/api/users/employees", admin);
+
+		long approved = IntStream.range(0, APPOINTMENTS).filter(i -> i % 3 != 0).count();
+		mockMvc.perform(get("/api/users/employees").with(user(new UserPrincipal(admin))))
+				.andExpect(jsonPath("$[?(@.id == " + employee.getId() + ")].taskStats.approved").value((int) approved))
+				.andExpect(jsonPath("$[?(@.id == " + employee.getId() + ")].taskStats.total").value((int) approved));
+	}
+
+	private void assertStatements(long expected, String url, User principal) throws Exception {
+		statistics.clear();
+		mockMvc.perform(get(url).with(user(new UserPrincipal(principal))))
+				.andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount())
+				.as("SQL statements for GET %s", url)
+				.isEqualTo(expected);
+	}
+
+	private void assertNoEntitiesLoaded() {
+		// List endpoints project straight into AppointmentResponse
+		assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+	}
+}
@@ -0,0 +1,70 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import Backend.entity.Appointment;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.entity.AppointmentDailyRollup;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentDailyRollupRepository;
+import Backend.repository.AppointmentRepository;
+import Backend.service.AppointmentRollupService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AppointmentRollupReconcileTests {
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private AppointmentDailyRollupRepository rollupRepository;
+
+	@Autowired
+	private AppointmentRollupService rollupService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void reconcileCorrectsDriftedAndMissingRows() {
+		User customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		LocalDate date = fixtures.reserveDays(1);
+		// Saved straight through the repository, so no event reaches the rollup
+		createAppointment(customer, date, LocalTime.of(9, 0), AppointmentStatus.PENDING);
+		createAppointment(customer, date, LocalTime.of(10, 0), AppointmentStatus.PENDING);
+		rollupRepository.save(new AppointmentDailyRollup(null, date, AppointmentStatus.APPROVE, 5L));
+
+		rollupService.reconcile();
+
+		assertThat(count(date, AppointmentStatus.PENDING)).isEqualTo(2);
+		assertThat(count(date, AppointmentStatus.APPROVE)).isZero();
+	}
+
+	private long count(LocalDate date, AppointmentStatus status) {
+		return rollupRepository.findAll().stream()
+				.filter(row -> row.getDate().equals(date) && row.getStatus() == status)
+				.mapToLong(AppointmentDailyRollup::getCount)
+				.sum();
+	}
+
+	private void createAppointment(User customer, LocalDate date, LocalTime time, AppointmentStatus status) {
+		Appointment appointment = new Appointment();
+		appointment.setDate(date);
+		appointment.setTime(time);
+		appointment.setService("Oil Change");
+		appointment.setVehicleType("Car");
+		appointment.setCustomer(customer);
+		appointment.setStatus(status);
+		appointmentRepository.save(appointment);
+	}
+}
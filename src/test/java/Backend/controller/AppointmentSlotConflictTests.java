@@ -0,0 +1,94 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import Backend.config.AppointmentSlotProperties;
+import Backend.config.SchemaIndexInitializer;
+import Backend.dto.Request.CreateAppointmentRequest;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+import Backend.repository.UserRepository;
+import Backend.security.CurrentUserProvider;
+import Backend.service.AppointmentService;
+import Backend.service.ChatService;
+import Backend.service.EmailService;
+import Backend.service.EmployeeWorkloadService;
+import Backend.service.SlotAvailabilityIndex;
+import Backend.service.VehicleService;
+
+/**
+ * The unique slot index only exists on PostgreSQL, so its violation is simulated here
+ */
+class AppointmentSlotConflictTests {
+
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final SlotAvailabilityIndex slotAvailabilityIndex = mock(SlotAvailabilityIndex.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final EmailService emailService = mock(EmailService.class);
+
+	private AppointmentService appointmentService;
+	private CreateAppointmentRequest request;
+
+	@BeforeEach
+	void setUp() {
+		appointmentService = new AppointmentService(appointmentRepository, userRepository,
+				mock(CurrentUserProvider.class), mock(EmployeeWorkloadService.class), emailService,
+				mock(ChatService.class), eventPublisher, slotAvailabilityIndex, mock(VehicleService.class),
+				new AppointmentSlotProperties());
+
+		User customer = new User();
+		customer.setId(1L);
+		when(userRepository.findById(1L)).thenReturn(Optional.of(customer));
+		when(slotAvailabilityIndex.reserve(any(), any(), anyInt())).thenReturn(1);
+
+		request = new CreateAppointmentRequest(LocalDate.of(2030, 1, 7), LocalTime.of(9, 0), "Car", null,
+				"Oil Change", null, 1L);
+	}
+
+	@Test
+	void uniqueSlotIndexViolationBecomesConflict() {
+		when(appointmentRepository.saveAndFlush(any())).thenThrow(violationOf(SchemaIndexInitializer.ACTIVE_BAY_SLOT_INDEX));
+
+		assertThatThrownBy(() -> appointmentService.createAppointment(request))
+				.isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+					assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+					assertThat(e.getReason()).isEqualTo("The selected time slot is not available");
+				});
+		verify(eventPublisher, never()).publishEvent(any());
+		verify(emailService, never()).sendAppointmentConfirmation(any());
+	}
+
+	@Test
+	void otherConstraintViolationsPassThrough() {
+		DataIntegrityViolationException violation = violationOf("fk_appointments_customer");
+		when(appointmentRepository.saveAndFlush(any())).thenThrow(violation);
+
+		assertThatThrownBy(() -> appointmentService.createAppointment(request)).isSameAs(violation);
+	}
+
+	private static DataIntegrityViolationException violationOf(String constraint) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("duplicate key value", new SQLException("duplicate key value"), constraint));
+	}
+}
@@ -0,0 +1,133 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.UserRepository;
+import Backend.service.JwtService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthLoginTests {
+
+	private static final String PASSWORD = "s3cret-Passw0rd";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@MockitoSpyBean
+	private JwtService jwtService;
+
+	private User customer;
+
+	@BeforeEach
+	void setUp() {
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		// Stored the way the old plain BCryptPasswordEncoder did: cost 4, no {id} prefix
+		customer.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+		customer = userRepository.save(customer);
+	}
+
+	@Test
+	void loginUpgradesLegacyHash() throws Exception {
+		mockMvc.perform(login(PASSWORD))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(customer.getId()))
+				.andExpect(jsonPath("$.role").value("CUSTOMER"))
+				.andExpect(jsonPath("$.JWT").isNotEmpty());
+
+		String stored = userRepository.findById(customer.getId()).orElseThrow().getPassword();
+		assertThat(stored).startsWith("{bcrypt}$2a$10$");
+
+		// The upgraded hash keeps working
+		mockMvc.perform(login(PASSWORD)).andExpect(status().isOk());
+	}
+
+	@Test
+	void wrongPasswordIsRejectedWithoutRehash() throws Exception {
+		String before = userRepository.findById(customer.getId()).orElseThrow().getPassword();
+
+		mockMvc.perform(login("wrong-password")).andExpect(status().isUnauthorized());
+
+		assertThat(userRepository.findById(customer.getId()).orElseThrow().getPassword()).isEqualTo(before);
+	}
+
+	@Test
+	void refreshRotatesTokenAndRejectsReuse() throws Exception {
+		String first = refreshTokenOf(mockMvc.perform(login(PASSWORD)).andExpect(status().isOk()).andReturn());
+
+		MvcResult refreshed = mockMvc.perform(refresh(first))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(customer.getId()))
+				.andExpect(jsonPath("$.JWT").isNotEmpty())
+				.andReturn();
+		String second = refreshTokenOf(refreshed);
+		assertThat(second).isNotEqualTo(first);
+
+		// Replaying a rotated token revokes the whole chain
+		mockMvc.perform(refresh(first)).andExpect(status().isUnauthorized());
+		mockMvc.perform(refresh(second)).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void failedRefreshKeepsThePresentedTokenValid() throws Exception {
+		String token = refreshTokenOf(mockMvc.perform(login(PASSWORD)).andExpect(status().isOk()).andReturn());
+
+		doThrow(new IllegalStateException("signing failed")).when(jwtService).generateToken(any(UserDetails.class));
+		mockMvc.perform(refresh(token)).andExpect(status().isUnauthorized());
+		reset(jwtService);
+
+		mockMvc.perform(refresh(token)).andExpect(status().isOk());
+	}
+
+	@Test
+	void unknownRefreshTokenIsRejected() throws Exception {
+		mockMvc.perform(refresh("not-a-token")).andExpect(status().isUnauthorized());
+	}
+
+	private String refreshTokenOf(MvcResult result) throws Exception {
+		return JsonPath.read(result.getResponse().getContentAsString(), "$.refreshToken");
+	}
+
+	private RequestBuilder refresh(String refreshToken) {
+		return post("/api/auth/refresh")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"refreshToken\":\"" + refreshToken + "\"}");
+	}
+
+	private RequestBuilder login(String password) {
+		return post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + customer.getEmail() + "\",\"password\":\"" + password + "\"}");
+	}
+}
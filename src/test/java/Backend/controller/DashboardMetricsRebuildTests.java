@@ -0,0 +1,79 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
+import Backend.repository.AppointmentDailyRollupRepository;
+import Backend.repository.AppointmentRepository;
+import Backend.service.DashboardMetricsStore;
+
+class DashboardMetricsRebuildTests {
+
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final AppointmentDailyRollupRepository rollupRepository = mock(AppointmentDailyRollupRepository.class);
+	private final DashboardMetricsStore store = new DashboardMetricsStore(appointmentRepository, rollupRepository);
+
+	@Test
+	void rebuildThatRacedWithAnEventIsRetried() {
+		when(appointmentRepository.countTasksGroupedByEmployeeId(any())).thenReturn(List.of());
+		when(rollupRepository.sumGroupedByDate()).thenReturn(List.of());
+		when(rollupRepository.sumGroupedByStatus()).thenReturn(rows(AppointmentStatus.PENDING, 1L));
+		store.rebuild();
+		assertThat(store.getStatusCounts()).isEqualTo(Map.of(AppointmentStatus.PENDING, 1L));
+
+		// A booking commits while the next rebuild reads, after its rows were taken
+		when(rollupRepository.sumGroupedByStatus())
+				.thenAnswer(invocation -> {
+					store.onAppointmentChanged(AppointmentChangedEvent.created(pending()));
+					return rows(AppointmentStatus.PENDING, 1L);
+				})
+				.thenReturn(rows(AppointmentStatus.PENDING, 2L));
+		store.rebuild();
+
+		assertThat(store.getStatusCounts()).isEqualTo(Map.of(AppointmentStatus.PENDING, 2L));
+		verify(rollupRepository, times(3)).sumGroupedByStatus();
+	}
+
+	@Test
+	void busyRebuildKeepsTheIncrementalCounters() {
+		when(appointmentRepository.countTasksGroupedByEmployeeId(any())).thenReturn(List.of());
+		when(rollupRepository.sumGroupedByDate()).thenReturn(List.of());
+		when(rollupRepository.sumGroupedByStatus()).thenReturn(rows(AppointmentStatus.PENDING, 1L));
+		store.rebuild();
+
+		// Every attempt sees its rows go stale
+		when(rollupRepository.sumGroupedByStatus()).thenAnswer(invocation -> {
+			store.onAppointmentChanged(AppointmentChangedEvent.created(pending()));
+			return rows(AppointmentStatus.PENDING, 0L);
+		});
+		store.rebuild();
+
+		assertThat(store.getStatusCounts()).isEqualTo(Map.of(AppointmentStatus.PENDING, 4L));
+	}
+
+	private static AppointmentSnapshot pending() {
+		return new AppointmentSnapshot(1L, LocalDate.of(2030, 1, 7), LocalTime.of(9, 0),
+				AppointmentStatus.PENDING, null, 1, 30);
+	}
+
+	private static List<Object[]> rows(AppointmentStatus status, long count) {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] {status, count});
+		return rows;
+	}
+}
@@ -0,0 +1,59 @@
+package Backend.controller;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardSnapshotMetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User admin;
+	private User employee;
+
+	@BeforeEach
+	void setUp() {
+		admin = fixtures.createUser(Role.RoleName.ADMIN);
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+	}
+
+	@Test
+	void snapshotRequestsAreCountedForAdmins() throws Exception {
+		mockMvc.perform(get("/api/dashboard/stats").with(user(new UserPrincipal(employee))))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/metrics/dashboard.snapshot.requests").with(user(new UserPrincipal(admin))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("dashboard.snapshot.requests"));
+	}
+
+	@Test
+	void actuatorMetricsAreLimitedToAdmins() throws Exception {
+		mockMvc.perform(get("/actuator/metrics"))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics/jvm.memory.used").with(user(new UserPrincipal(employee))))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics/jvm.memory.used").with(user(new UserPrincipal(admin))))
+				.andExpect(status().isOk());
+	}
+}
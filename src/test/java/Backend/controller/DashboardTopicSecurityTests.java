@@ -0,0 +1,100 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.security.Principal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.security.StompAuthChannelInterceptor;
+import Backend.service.DashboardPushService;
+import Backend.service.JwtService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardTopicSecurityTests {
+
+	@Autowired
+	private StompAuthChannelInterceptor interceptor;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private final MessageChannel channel = mock(MessageChannel.class);
+
+	private User employee;
+	private User customer;
+
+	@BeforeEach
+	void setUp() {
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+	}
+
+	@Test
+	void staffMaySubscribeToDashboard() {
+		Principal user = connect("Bearer " + jwtService.generateToken(new UserPrincipal(employee)));
+		assertThat(user).isNotNull();
+
+		interceptor.preSend(subscribe(DashboardPushService.DASHBOARD_TOPIC, user), channel);
+	}
+
+	@Test
+	void refusesDashboardSubscriptionForCustomersAndAnonymousSessions() {
+		Principal customerUser = connect("Bearer " + jwtService.generateToken(new UserPrincipal(customer)));
+		assertThatThrownBy(() -> interceptor.preSend(subscribe(DashboardPushService.DASHBOARD_TOPIC, customerUser), channel))
+				.isInstanceOf(AccessDeniedException.class);
+		assertThatThrownBy(() -> interceptor.preSend(subscribe("/topic/*", customerUser), channel))
+				.isInstanceOf(AccessDeniedException.class);
+
+		Principal anonymous = connect(null);
+		assertThat(anonymous).isNull();
+		assertThatThrownBy(() -> interceptor.preSend(subscribe(DashboardPushService.DASHBOARD_TOPIC, anonymous), channel))
+				.isInstanceOf(AccessDeniedException.class);
+
+		// Chat topics stay open
+		interceptor.preSend(subscribe("/topic/chat/1", anonymous), channel);
+	}
+
+	@Test
+	void refusesConnectWithInvalidToken() {
+		assertThatThrownBy(() -> connect("Bearer not-a-token")).isInstanceOf(BadCredentialsException.class);
+	}
+
+	private Principal connect(String authorization) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+		if (authorization != null) {
+			accessor.setNativeHeader("Authorization", authorization);
+		}
+		accessor.setLeaveMutable(true);
+		interceptor.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), channel);
+		return accessor.getUser();
+	}
+
+	private Message<byte[]> subscribe(String destination, Principal user) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+		accessor.setDestination(destination);
+		accessor.setSubscriptionId("sub-0");
+		accessor.setUser(user);
+		return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+	}
+}
@@ -0,0 +1,88 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.service.JwtService;
+import Backend.service.SuperAdminService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+		"jwt.stateless=true",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtStatelessAuthenticationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private SuperAdminService superAdminService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User customer;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		token = jwtService.generateToken(new UserPrincipal(customer));
+	}
+
+	@Test
+	void authenticatesFromClaimsWithoutLoadingTheUser() throws Exception {
+		// First request reads the token version once
+		mockMvc.perform(myAppointments()).andExpect(status().isOk());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(myAppointments()).andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).as("only the appointment list query").isEqualTo(1);
+	}
+
+	@Test
+	void disablingTheAccountRevokesIssuedTokens() throws Exception {
+		mockMvc.perform(myAppointments()).andExpect(status().isOk());
+
+		superAdminService.toggleUserStatus(customer.getId());
+		mockMvc.perform(myAppointments())
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.message").value("Token is no longer valid"));
+
+		// Re-enabling does not bring the old token back
+		superAdminService.toggleUserStatus(customer.getId());
+		mockMvc.perform(myAppointments()).andExpect(status().isUnauthorized());
+	}
+
+	private RequestBuilder myAppointments() {
+		return get("/api/appointments/my").param("limit", "5")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+}
@@ -0,0 +1,103 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.security.VerifiedTokenCache;
+import Backend.service.JwtService;
+import Backend.service.SuperAdminService;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bearer tokens verified once are served from the cache until the account changes
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtTokenCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private SuperAdminService superAdminService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private Statistics statistics;
+	private User customer;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		token = jwtService.generateToken(new UserPrincipal(customer));
+	}
+
+	@Test
+	void repeatedRequestsSkipLoadingTheUser() throws Exception {
+		assertThat(statementsFor(myAppointments())).as("user lookup and list").isEqualTo(2);
+		assertThat(statementsFor(myAppointments())).as("list only").isEqualTo(1);
+	}
+
+	@Test
+	void accountChangeEvictsCachedTokens() throws Exception {
+		mockMvc.perform(myAppointments()).andExpect(status().isOk());
+
+		superAdminService.toggleUserStatus(customer.getId());
+		assertThat(statementsFor(myAppointments())).as("user is loaded again").isEqualTo(2);
+	}
+
+	@Test
+	void everyHitGetsItsOwnPrincipal() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10, 60_000);
+		cache.put(token, new UserPrincipal(customer), new Date(System.currentTimeMillis() + 60_000));
+
+		UserPrincipal first = (UserPrincipal) cache.get(token);
+		first.getUser().setFullName("changed by one request");
+		UserPrincipal second = (UserPrincipal) cache.get(token);
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getUser()).isNotSameAs(customer);
+		assertThat(second.getUser().getId()).isEqualTo(customer.getId());
+		assertThat(second.getUser().getFullName()).isEqualTo(customer.getFullName());
+		assertThat(second.getUser().getRole().getName()).isEqualTo(Role.RoleName.CUSTOMER);
+	}
+
+	private long statementsFor(RequestBuilder request) throws Exception {
+		statistics.clear();
+		mockMvc.perform(request);
+		return statistics.getPrepareStatementCount();
+	}
+
+	private RequestBuilder myAppointments() {
+		return get("/api/appointments/my").param("limit", "5")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+}
@@ -0,0 +1,72 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.security.Permission;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PermissionAuthorizationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void rolesKeepTheAccessTheyHadUnderPreAuthorize() {
+		assertThat(Permission.of(Role.RoleName.CUSTOMER)).isEmpty();
+		assertThat(Permission.of(Role.RoleName.EMPLOYEE)).containsExactlyInAnyOrderElementsOf(EnumSet.of(
+				Permission.MANAGE_APPOINTMENTS, Permission.VIEW_DASHBOARD, Permission.SEND_EMAILS,
+				Permission.SEARCH_VEHICLES, Permission.WORK_ON_TASKS));
+		assertThat(Permission.of(Role.RoleName.ADMIN))
+				.contains(Permission.ALLOCATE_APPOINTMENTS, Permission.DELETE_APPOINTMENTS)
+				.doesNotContain(Permission.MANAGE_USERS, Permission.WORK_ON_TASKS);
+		assertThat(Permission.of(Role.RoleName.SUPER_ADMIN)).containsAll(Permission.of(Role.RoleName.ADMIN))
+				.contains(Permission.MANAGE_USERS);
+	}
+
+	@Test
+	void annotatedEndpointsAreCheckedAgainstThePrincipalsRole() throws Exception {
+		User employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		User customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+
+		mockMvc.perform(get("/api/appointments").with(user(new UserPrincipal(employee))))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/appointments").with(user(new UserPrincipal(customer))))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(delete("/api/appointments/" + Long.MAX_VALUE).with(user(new UserPrincipal(employee))))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/super-admin/users/statistics").with(user(new UserPrincipal(employee))))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/appointments"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void otherPrincipalsAreCheckedByTheirRoleAuthority() throws Exception {
+		mockMvc.perform(get("/api/appointments").with(user("admin@test.local").roles("ADMIN")))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/appointments").with(user("someone@test.local").roles("AUDITOR")))
+				.andExpect(status().isForbidden());
+	}
+
+}
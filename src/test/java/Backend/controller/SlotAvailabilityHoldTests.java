@@ -0,0 +1,95 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import Backend.config.AppointmentSlotProperties;
+import Backend.repository.AppointmentRepository;
+import Backend.service.SlotAvailabilityIndex;
+
+/**
+ * Transactions are simulated by driving the synchronizations by hand
+ */
+class SlotAvailabilityHoldTests {
+
+	private static final LocalTime TEN = LocalTime.of(10, 0);
+
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final SlotAvailabilityIndex index =
+			new SlotAvailabilityIndex(appointmentRepository, new AppointmentSlotProperties());
+	private final LocalDate date = LocalDate.now().plusDays(7);
+
+	@BeforeEach
+	void setUp() {
+		when(appointmentRepository.findBookingsFrom(any(), any())).thenReturn(List.of());
+		when(appointmentRepository.findBookingsBetween(any(), any(), any())).thenReturn(List.of());
+		when(appointmentRepository.findBookingsOnDatesExcluding(any(), any(), any())).thenReturn(List.of());
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void holdSurvivesARebuildAndBlocksAMove() {
+		index.rebuild();
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(1);
+
+		index.rebuild();
+
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(-1);
+		assertThat(index.findFreeBay(date, TEN, 30, 1L)).isEqualTo(-1);
+	}
+
+	@Test
+	void rolledBackHoldFreesTheBay() {
+		index.rebuild();
+		assertThat(index.findFreeBay(date, TEN, 30, 1L)).isEqualTo(1);
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(-1);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		TransactionSynchronizationManager.initSynchronization();
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(1);
+	}
+
+	@Test
+	void committedHoldStaysBooked() {
+		index.rebuild();
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(1);
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThat(index.getAvailability(date, date, null).get(0).availableSlots()).doesNotContain(TEN);
+	}
+
+	@Test
+	void reservationsBeforeTheFirstLoadAreHeld() {
+		assertThat(index.isReady()).isFalse();
+
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(1);
+		assertThat(index.reserve(date, TEN, 30)).isEqualTo(-1);
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+	}
+}
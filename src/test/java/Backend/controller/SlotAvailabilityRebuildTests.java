@@ -0,0 +1,48 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import Backend.config.AppointmentSlotProperties;
+import Backend.entity.Appointment.AppointmentStatus;
+import Backend.event.AppointmentChangedEvent;
+import Backend.event.AppointmentSnapshot;
+import Backend.repository.AppointmentRepository;
+import Backend.service.SlotAvailabilityIndex;
+
+class SlotAvailabilityRebuildTests {
+
+	private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+	private final SlotAvailabilityIndex index =
+			new SlotAvailabilityIndex(appointmentRepository, new AppointmentSlotProperties());
+	private final LocalDate date = LocalDate.now().plusDays(7);
+
+	@Test
+	void bookingThatCommitsDuringARebuildIsReplayed() {
+		when(appointmentRepository.findBookingsFrom(any(), any())).thenReturn(List.of());
+		index.rebuild();
+		assertThat(availableSlots()).contains(LocalTime.of(10, 0));
+
+		// The booking commits after the rebuild read the table
+		when(appointmentRepository.findBookingsFrom(any(), any())).thenAnswer(invocation -> {
+			index.onAppointmentChanged(AppointmentChangedEvent.created(new AppointmentSnapshot(
+					1L, date, LocalTime.of(10, 0), AppointmentStatus.PENDING, null, 1, 30)));
+			return List.of();
+		});
+		index.rebuild();
+
+		assertThat(availableSlots()).doesNotContain(LocalTime.of(10, 0)).contains(LocalTime.of(10, 30));
+	}
+
+	private List<LocalTime> availableSlots() {
+		return index.getAvailability(date, date, null).get(0).availableSlots();
+	}
+}
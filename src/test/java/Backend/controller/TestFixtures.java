@@ -0,0 +1,74 @@
+package Backend.controller;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.RoleRepository;
+import Backend.repository.UserRepository;
+
+/**
+ * Shared test data. Every value comes from a counter instead of randomness, so it is unique
+ * per test yet the same on every run. The counters are static because all Spring contexts of
+ * a test run share one database.
+ */
+@Component
+class TestFixtures {
+
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	private static final AtomicLong NEXT_DAY = new AtomicLong();
+	private static final LocalDate FIRST_DAY = LocalDate.now().plusYears(1);
+
+	private final RoleRepository roleRepository;
+	private final UserRepository userRepository;
+
+	TestFixtures(RoleRepository roleRepository, UserRepository userRepository) {
+		this.roleRepository = roleRepository;
+		this.userRepository = userRepository;
+	}
+
+	User createUser(Role.RoleName roleName) {
+		return createUser(roleName, roleName.name() + " user", true);
+	}
+
+	User createUser(Role.RoleName roleName, String fullName, boolean enabled) {
+		User user = new User();
+		user.setFullName(fullName);
+		user.setEmail(uniqueEmail());
+		user.setPhone(uniquePhone());
+		user.setRole(role(roleName));
+		user.setEnabled(enabled);
+		return userRepository.save(user);
+	}
+
+	Role role(Role.RoleName roleName) {
+		return roleRepository.findByName(roleName)
+				.orElseGet(() -> roleRepository.save(new Role(null, roleName)));
+	}
+
+	/**
+	 * Next value of the shared sequence, zero-padded so no value is a prefix of another
+	 */
+	String uniqueToken() {
+		return String.format("%06d", SEQUENCE.incrementAndGet());
+	}
+
+	String uniqueEmail() {
+		return "user" + uniqueToken() + "@test.local";
+	}
+
+	String uniquePhone() {
+		return "+1555" + uniqueToken();
+	}
+
+	/**
+	 * First of {@code days} consecutive future dates that no other caller gets,
+	 * so appointments created on them only meet the caller's own queries
+	 */
+	LocalDate reserveDays(int days) {
+		return FIRST_DAY.plusDays(NEXT_DAY.getAndAdd(days));
+	}
+}
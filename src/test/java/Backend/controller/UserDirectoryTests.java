@@ -0,0 +1,135 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserDirectoryTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	// Unique per test so searches only see the users created here
+	private String namePrefix;
+	private List<Long> enabledCustomerIds;
+	private User disabledCustomer;
+	private User employee;
+
+	@BeforeEach
+	void setUp() {
+		namePrefix = "Dir" + fixtures.uniqueToken();
+		enabledCustomerIds = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			enabledCustomerIds.add(fixtures.createUser(Role.RoleName.CUSTOMER, namePrefix + " Customer " + i, true).getId());
+		}
+		disabledCustomer = fixtures.createUser(Role.RoleName.CUSTOMER, namePrefix + " Disabled", false);
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE, namePrefix + " Employee", true);
+	}
+
+	@Test
+	void customerSearchPagesThroughEnabledMatchesInIdOrder() throws Exception {
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			JsonNode page = fetch("/api/users/customers?limit=2&q=" + namePrefix.toUpperCase()
+					+ (cursor != null ? "&cursor=" + cursor : ""));
+			page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+			cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(seen).isEqualTo(enabledCustomerIds);
+		assertThat(pages).isEqualTo(3);
+	}
+
+	@Test
+	void searchMatchesEmailAndPhonePrefixesAndTreatsWildcardsLiterally() throws Exception {
+		User customer = userRepository.findById(enabledCustomerIds.get(0)).orElseThrow();
+
+		JsonNode byEmail = fetch("/api/users/customers?q=" + customer.getEmail().substring(0, 12));
+		assertThat(byEmail.get("items")).hasSize(1);
+		assertThat(byEmail.get("items").get(0).get("id").asLong()).isEqualTo(customer.getId());
+
+		JsonNode byPhone = fetch("/api/users/customers?q=" + customer.getPhone());
+		assertThat(byPhone.get("items")).hasSize(1);
+
+		assertThat(fetch("/api/users/customers?q=%25" + namePrefix.substring(3)).get("items")).isEmpty();
+		assertThat(fetch("/api/users/customers?q=" + namePrefix.replace('D', '_')).get("items")).isEmpty();
+	}
+
+	@Test
+	void customerSearchIsLimitedToStaff() throws Exception {
+		User customer = userRepository.findById(enabledCustomerIds.get(0)).orElseThrow();
+		String url = "/api/users/customers?q=" + customer.getEmail().substring(0, 12);
+
+		mockMvc.perform(get(url))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get(url).with(user(new UserPrincipal(fixtures.createUser(Role.RoleName.CUSTOMER)))))
+				.andExpect(status().isForbidden());
+		// Plain paging stays public
+		mockMvc.perform(get("/api/users/customers?limit=1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items.length()").value(1));
+	}
+
+	@Test
+	void superAdminRoleListingIncludesDisabledUsers() throws Exception {
+		User superAdmin = fixtures.createUser(Role.RoleName.SUPER_ADMIN, "Super", true);
+
+		mockMvc.perform(get("/api/super-admin/users/role/CUSTOMER")
+						.param("q", namePrefix)
+						.param("limit", "10")
+						.with(user(new UserPrincipal(superAdmin))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(6))
+				.andExpect(jsonPath("$.hasMore").value(false))
+				.andExpect(jsonPath("$.data[5].id").value(disabledCustomer.getId()));
+
+		mockMvc.perform(get("/api/super-admin/users/role/CUSTOMER")
+						.param("cursor", "not-a-cursor")
+						.with(user(new UserPrincipal(superAdmin))))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Invalid cursor"));
+	}
+
+	private JsonNode fetch(String url) throws Exception {
+		String body = mockMvc.perform(get(url).with(user(new UserPrincipal(employee))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}
@@ -0,0 +1,107 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.Request.CreateUserRequest;
+import Backend.dto.UserPrincipal;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.UserRepository;
+import Backend.service.SuperAdminService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserStatisticsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SuperAdminService superAdminService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User superAdmin;
+
+	@BeforeEach
+	void setUp() {
+		superAdmin = fixtures.createUser(Role.RoleName.SUPER_ADMIN);
+		// Created through the service so its account event drops any snapshot left by earlier tests,
+		// which do not see the users saved straight through the repository
+		fixtures.role(Role.RoleName.CUSTOMER);
+		superAdminService.createUser(new CreateUserRequest("Customer", fixtures.uniqueEmail(), "password123",
+				Role.RoleName.CUSTOMER, true));
+	}
+
+	@Test
+	void statisticsComeFromOneAggregateAndAreCached() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		JsonNode first = fetchStatistics();
+		assertThat(statistics.getPrepareStatementCount()).as("one aggregate query").isEqualTo(1);
+		assertThat(first.get("totalUsers").asLong()).isEqualTo(userRepository.count());
+		assertThat(first.get("customerCount").asInt())
+				.isEqualTo(userRepository.findByRole_Name(Role.RoleName.CUSTOMER).size());
+
+		statistics.clear();
+		assertThat(fetchStatistics()).isEqualTo(first);
+		assertThat(statistics.getPrepareStatementCount()).as("served from the snapshot").isZero();
+	}
+
+	@Test
+	void accountChangesInvalidateTheSnapshot() throws Exception {
+		fetchStatistics();
+
+		mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"fullName\":\"New\",\"email\":\"" + fixtures.uniqueEmail()
+								+ "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk());
+		JsonNode registered = fetchStatistics();
+		assertThat(registered.get("customerCount").asInt())
+				.isEqualTo(userRepository.findByRole_Name(Role.RoleName.CUSTOMER).size());
+		assertThat(registered.get("totalUsers").asLong()).isEqualTo(userRepository.count());
+
+		superAdminService.toggleUserStatus(fixtures.createUser(Role.RoleName.EMPLOYEE).getId());
+		JsonNode toggled = fetchStatistics();
+		assertThat(toggled.get("disabledUsers").asLong()).isEqualTo(userRepository.countByEnabled(false));
+	}
+
+	private JsonNode fetchStatistics() throws Exception {
+		String body = mockMvc.perform(get("/api/super-admin/users/statistics")
+						.with(user(new UserPrincipal(superAdmin))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("data");
+	}
+}
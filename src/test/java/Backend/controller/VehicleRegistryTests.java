@@ -0,0 +1,153 @@
+package Backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Backend.dto.UserPrincipal;
+import Backend.entity.Appointment;
+import Backend.entity.Role;
+import Backend.entity.User;
+import Backend.repository.AppointmentRepository;
+import Backend.service.VehicleService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VehicleRegistryTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Autowired
+	private VehicleService vehicleService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private User employee;
+	private User customer;
+	private LocalDate date;
+	// Unique per test so searches only see the vehicles registered here
+	private String digits;
+
+	@BeforeEach
+	void setUp() {
+		employee = fixtures.createUser(Role.RoleName.EMPLOYEE);
+		customer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		date = fixtures.reserveDays(1);
+		digits = fixtures.uniqueToken();
+	}
+
+	@Test
+	void differentlyWrittenPlatesShareOneVehicleWithHistoryInOneQuery() throws Exception {
+		long first = book("09:00", "zq-" + digits + " x");
+		long second = book("11:00", "ZQ " + digits + "X");
+
+		JsonNode vehicles = fetch("/api/vehicles?q=" + digits.substring(2) + "-x");
+		assertThat(vehicles).hasSize(1);
+		assertThat(vehicles.get(0).get("plateNumber").asText()).isEqualTo("ZQ" + digits + "X");
+		assertThat(vehicles.get(0).get("displayNumber").asText()).isEqualTo("ZQ " + digits + "X");
+		assertThat(vehicles.get(0).get("ownerId").asLong()).isEqualTo(customer.getId());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		JsonNode history = fetch("/api/vehicles/zq" + digits + "x/history");
+		assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+		assertThat(history).hasSize(2);
+		assertThat(history.get(0).get("id").asLong()).isEqualTo(second);
+		assertThat(history.get(1).get("id").asLong()).isEqualTo(first);
+	}
+
+	@Test
+	void firstBookerStaysOwnerAndRejectedBookingsRegisterNothing() throws Exception {
+		book("09:00", "ow " + digits);
+		User otherCustomer = fixtures.createUser(Role.RoleName.CUSTOMER);
+		book(otherCustomer, "10:00", "OW" + digits, status().isCreated());
+
+		JsonNode vehicles = fetch("/api/vehicles?q=OW" + digits);
+		assertThat(vehicles).hasSize(1);
+		assertThat(vehicles.get(0).get("ownerId").asLong()).isEqualTo(customer.getId());
+
+		// The slot is taken, so the booking rolls back together with its new vehicle
+		book(otherCustomer, "09:00", "NV" + digits, status().isConflict());
+		assertThat(fetch("/api/vehicles?q=NV" + digits)).isEmpty();
+	}
+
+	@Test
+	void appointmentsBookedBeforeTheRegistryAreBackfilled() throws Exception {
+		Appointment appointment = new Appointment();
+		appointment.setDate(date);
+		appointment.setTime(LocalTime.of(14, 0));
+		appointment.setService("Oil Change");
+		appointment.setVehicleNumber("bf " + digits);
+		appointment.setCustomer(customer);
+		appointment = appointmentRepository.save(appointment);
+
+		vehicleService.backfill();
+
+		JsonNode history = fetch("/api/vehicles/BF" + digits + "/history");
+		assertThat(history).hasSize(1);
+		assertThat(history.get(0).get("id").asLong()).isEqualTo(appointment.getId());
+	}
+
+	@Test
+	void searchNeedsLettersOrDigitsAndStaffRole() throws Exception {
+		mockMvc.perform(get("/api/vehicles").param("q", " - ").with(user(new UserPrincipal(employee))))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/vehicles").param("q", digits).with(user(new UserPrincipal(customer))))
+				.andExpect(status().isForbidden());
+	}
+
+	private long book(String time, String vehicleNumber) throws Exception {
+		String body = book(customer, time, vehicleNumber, status().isCreated());
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+
+	private String book(User booker, String time, String vehicleNumber, ResultMatcher expectedStatus) throws Exception {
+		return mockMvc.perform(post("/api/appointments")
+						.with(user(new UserPrincipal(booker)))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"date\":\"" + date + "\",\"time\":\"" + time + "\",\"service\":\"Oil Change\","
+								+ "\"vehicleType\":\"Car\",\"vehicleNumber\":\"" + vehicleNumber + "\"}"))
+				.andExpect(expectedStatus)
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private JsonNode fetch(String url) throws Exception {
+		String body = mockMvc.perform(get(url).with(user(new UserPrincipal(employee))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+}